@@ -4,6 +4,7 @@ import com.cubecrush.gateway.filter.InternalServiceFilter;
 import com.cubecrush.gateway.filter.RequestLogger;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -99,6 +100,19 @@ public class GatewayConfig {
                         .uri("lb://user-service")
                 )
 
+                .route("game-service-stream", r -> r
+                        .path("/api/v1/game/top/stream", "/game-service/api/v1/game/top/stream")
+                        .and()
+                        .method(HttpMethod.GET)
+                        .filters(f -> f
+                                .rewritePath("/game-service/(?<segment>.*)", "/${segment}")
+                                .filter(requestLogger)
+                                .filter(internalServiceFilter)
+                        )
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, -1)
+                        .uri("lb://game-service")
+                )
+
                 .route("game-service-public", r -> r
                         .path("/api/v1/game/top", "/game-service/api/v1/game/top")
                         .filters(f -> f
@@ -0,0 +1,32 @@
+package com.cubecrush.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Applied to routes without their own entry; no limit when unset. */
+    private Limit defaultLimit;
+
+    /** Keyed by route id as declared in GatewayConfig. */
+    private Map<String, Limit> routes = new HashMap<>();
+
+    private long sweepIntervalMs = 60000;
+
+    @Data
+    public static class Limit {
+        /** Burst size: requests allowed at once by a client that has been idle. */
+        private int capacity;
+        /** Sustained rate the bucket refills at. */
+        private double refillPerSecond;
+    }
+}
@@ -35,9 +35,10 @@ public class SecurityConfig {
                 .authenticationManager(authenticationManager)
                 .securityContextRepository(securityContextRepository)
                 .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/api/v1/system/**", "/*/api/v1/system/**").denyAll()
                         .pathMatchers(HttpMethod.OPTIONS).permitAll()
                         .pathMatchers("/api/v1/auth/login", "/api/v1/auth/register", "/api/v1/auth/refresh", "/api/v1/auth/health", "/api/v1/auth/validate").permitAll()
-                        .pathMatchers("/api/v1/game/top").permitAll()
+                        .pathMatchers("/api/v1/game/top", "/api/v1/game/top/stream").permitAll()
                         .pathMatchers("/auth-service/v3/api-docs/**", "/user-service/v3/api-docs/**", "/game-service/v3/api-docs/**").permitAll()
                         .pathMatchers("/webjars/**", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .pathMatchers("/actuator/**").permitAll()
@@ -1,6 +1,8 @@
 package com.cubecrush.gateway.filter;
 
+import com.cubecrush.gateway.security.RevocationRegistry;
 import com.cubecrush.gateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -12,10 +14,14 @@ import reactor.core.publisher.Mono;
 @Component
 public class AuthHeaderFilter implements GlobalFilter, Ordered {
 
+    public static final String USER_ID_ATTR = "cubecrush.userId";
+
     private final JwtUtil jwtUtil;
+    private final RevocationRegistry revocationRegistry;
 
-    public AuthHeaderFilter(JwtUtil jwtUtil) {
+    public AuthHeaderFilter(JwtUtil jwtUtil, RevocationRegistry revocationRegistry) {
         this.jwtUtil = jwtUtil;
+        this.revocationRegistry = revocationRegistry;
     }
 
     @Override
@@ -25,8 +31,10 @@ public class AuthHeaderFilter implements GlobalFilter, Ordered {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                if (jwtUtil.validateToken(token)) {
-                    String userId = jwtUtil.getUserId(token);
+                Claims claims = jwtUtil.getAllClaimsFromToken(token);
+                if (!revocationRegistry.isRevoked(claims)) {
+                    String userId = String.valueOf(claims.get("userId", Long.class));
+                    exchange.getAttributes().put(USER_ID_ATTR, userId);
                     ServerWebExchange modifiedExchange = exchange.mutate()
                             .request(r -> r.header("X-User-Id", userId))
                             .build();
@@ -0,0 +1,120 @@
+package com.cubecrush.gateway.filter;
+
+import com.cubecrush.gateway.config.RateLimitProperties;
+import com.cubecrush.gateway.util.TokenBuckets;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+@Slf4j
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final RateLimitProperties properties;
+    private final Map<String, Optional<TokenBuckets>> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getSweepIntervalMs();
+        sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        Optional<TokenBuckets> routeBuckets = buckets.computeIfAbsent(route.getId(), this::bucketsFor);
+        if (routeBuckets.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        String client = clientKey(exchange);
+        long waitNanos = routeBuckets.get().tryAcquire(client, System.nanoTime());
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+        log.debug("Rate limit exceeded on route {} for {}", route.getId(), client);
+        return reject(exchange, waitNanos);
+    }
+
+    @Override
+    public int getOrder() {
+        // After AuthHeaderFilter, so authenticated requests are keyed by user.
+        return 0;
+    }
+
+    private Optional<TokenBuckets> bucketsFor(String routeId) {
+        RateLimitProperties.Limit limit = properties.getRoutes().getOrDefault(routeId, properties.getDefaultLimit());
+        if (limit == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new TokenBuckets(limit.getCapacity(), limit.getRefillPerSecond()));
+    }
+
+    private static String clientKey(ServerWebExchange exchange) {
+        String userId = exchange.getAttribute(AuthHeaderFilter.USER_ID_ATTR);
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null || remote.getAddress() == null) {
+            return "ip:unknown";
+        }
+        return "ip:" + remote.getAddress().getHostAddress();
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, long waitNanos) {
+        long retryAfter = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = ("{\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded, retry in "
+                + retryAfter + "s\",\"path\":\"" + exchange.getRequest().getPath().value() + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private void sweep() {
+        buckets.values().forEach(routeBuckets -> routeBuckets.ifPresent(TokenBuckets::sweep));
+    }
+}
@@ -18,17 +18,17 @@ import java.util.List;
 public class AuthenticationManager implements ReactiveAuthenticationManager {
 
     private final JwtUtil jwtUtil;
+    private final RevocationRegistry revocationRegistry;
 
     @Override
     public Mono<Authentication> authenticate(Authentication authentication) {
         String authToken = authentication.getCredentials().toString();
         
         try {
-            if (!jwtUtil.validateToken(authToken)) {
+            Claims claims = jwtUtil.getAllClaimsFromToken(authToken);
+            if (revocationRegistry.isRevoked(claims)) {
                 return Mono.empty();
             }
-            
-            Claims claims = jwtUtil.getAllClaimsFromToken(authToken);
             String username = claims.getSubject();
             List<SimpleGrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
             
@@ -0,0 +1,106 @@
+package com.cubecrush.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local copy of auth-service revocations, fed by {@link RevocationStreamClient}: revoked jtis with
+ * their expiry, and per-user epochs before which every token of the user is revoked.
+ * <p>
+ * A snapshot is applied by building new maps and swapping them in, so readers never see a
+ * half-filled registry. Revocations are permanent until the token expires, so entries already
+ * known are carried over into the new maps as well.
+ */
+@Slf4j
+@Component
+public class RevocationRegistry {
+
+    private static final String ISSUED_AT_MILLIS = "iatMs";
+
+    private volatile State state = new State(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    @Value("${jwt.expiration.access:900}")
+    private long accessTokenExpirationSeconds;
+
+    public boolean isRevoked(Claims claims) {
+        State current = state;
+        String jti = claims.getId();
+        if (jti != null) {
+            Long expiresAt = current.revokedJtis().get(jti);
+            if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+                return true;
+            }
+        }
+        Long userId = claims.get("userId", Long.class);
+        Long issuedAt = issuedAtMillis(claims);
+        if (userId == null || issuedAt == null) {
+            return false;
+        }
+        Long revokedBefore = current.epochs().get(userId);
+        return revokedBefore != null && issuedAt < revokedBefore;
+    }
+
+    /** auth-service puts the exact issue time in its own claim; {@code iat} only has second precision. */
+    private static Long issuedAtMillis(Claims claims) {
+        Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS, Long.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null ? null : issuedAt.getTime();
+    }
+
+    public void replace(Snapshot snapshot) {
+        State previous = state;
+        State next = new State(new ConcurrentHashMap<>(previous.revokedJtis()), new ConcurrentHashMap<>(previous.epochs()));
+        snapshot.tokens().forEach(next::revoke);
+        snapshot.epochs().forEach(next::advance);
+        state = next;
+        evictExpired();
+        log.info("Revocation snapshot applied: {} tokens, {} user epochs", next.revokedJtis().size(), next.epochs().size());
+    }
+
+    public void revoke(RevokedJti token) {
+        state.revoke(token);
+    }
+
+    public void advance(TokenEpoch epoch) {
+        state.advance(epoch);
+    }
+
+    public void evictExpired() {
+        State current = state;
+        long now = System.currentTimeMillis();
+        current.revokedJtis().values().removeIf(expiresAt -> expiresAt <= now);
+        long oldestLiveIssuedAt = now - accessTokenExpirationSeconds * 1000;
+        current.epochs().values().removeIf(revokedBefore -> revokedBefore <= oldestLiveIssuedAt);
+    }
+
+    public int size() {
+        State current = state;
+        return current.revokedJtis().size() + current.epochs().size();
+    }
+
+    private record State(ConcurrentHashMap<String, Long> revokedJtis, ConcurrentHashMap<Long, Long> epochs) {
+
+        void revoke(RevokedJti token) {
+            revokedJtis.merge(token.jti(), token.expiresAt(), Math::max);
+        }
+
+        void advance(TokenEpoch epoch) {
+            epochs.merge(epoch.userId(), epoch.revokedBefore(), Math::max);
+        }
+    }
+
+    public record Snapshot(List<RevokedJti> tokens, List<TokenEpoch> epochs) {}
+
+    public record RevokedJti(String jti, long expiresAt) {}
+
+    public record TokenEpoch(Long userId, long revokedBefore) {}
+}
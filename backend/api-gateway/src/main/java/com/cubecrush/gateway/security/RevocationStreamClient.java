@@ -0,0 +1,112 @@
+package com.cubecrush.gateway.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Subscribes to the auth-service revocation stream and applies it to the {@link RevocationRegistry},
+ * reconnecting (and receiving a fresh snapshot) whenever the stream ends or fails.
+ */
+@Slf4j
+@Component
+public class RevocationStreamClient {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final RevocationRegistry registry;
+    private final ObjectMapper objectMapper;
+
+    private Disposable stream;
+    private Disposable eviction;
+
+    @Value("${gateway.revocations.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.revocations.stream-uri:http://auth-service/api/v1/system/auth/revocations/stream}")
+    private String streamUri;
+
+    @Value("${gateway.revocations.reconnect-delay-ms:1000}")
+    private long reconnectDelayMs;
+
+    @Value("${gateway.revocations.evict-interval-ms:60000}")
+    private long evictIntervalMs;
+
+    public RevocationStreamClient(WebClient.Builder webClientBuilder,
+                                  ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                                  RevocationRegistry registry,
+                                  ObjectMapper objectMapper) {
+        this.webClient = webClientBuilder.filter(loadBalancer).build();
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Duration reconnectDelay = Duration.ofMillis(reconnectDelayMs);
+        stream = Flux.defer(this::connect)
+                .doOnComplete(() -> log.warn("Revocation stream closed by auth-service, reconnecting"))
+                .repeatWhen(completed -> completed.delayElements(reconnectDelay))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, reconnectDelay)
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("Revocation stream failed, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .subscribe(this::apply);
+        eviction = Flux.interval(Duration.ofMillis(evictIntervalMs))
+                .subscribe(tick -> registry.evictExpired());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.dispose();
+        }
+        if (eviction != null) {
+            eviction.dispose();
+        }
+    }
+
+    private Flux<ServerSentEvent<String>> connect() {
+        return webClient.get()
+                .uri(streamUri)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE);
+    }
+
+    private void apply(ServerSentEvent<String> event) {
+        if (event.event() == null || event.data() == null) {
+            return;
+        }
+        try {
+            switch (event.event()) {
+                case "snapshot" -> registry.replace(objectMapper.readValue(event.data(), RevocationRegistry.Snapshot.class));
+                case "token" -> registry.revoke(objectMapper.readValue(event.data(), RevocationRegistry.RevokedJti.class));
+                case "epoch" -> registry.advance(objectMapper.readValue(event.data(), RevocationRegistry.TokenEpoch.class));
+                default -> log.debug("Ignoring revocation event {}", event.event());
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply revocation event {}: {}", event.event(), event.data(), e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.cubecrush.gateway.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets kept as a single "theoretical arrival time" per key (GCRA), updated with a CAS,
+ * so a check is one map lookup and one compare-and-set with no locks. A key whose bucket is full
+ * again carries no state and is dropped by {@link #sweep()}.
+ */
+public class TokenBuckets {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBuckets(int capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+    }
+
+    /**
+     * Takes one token for the key. Returns 0 when allowed, otherwise the nanoseconds until a token
+     * becomes available.
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong arrival = buckets.computeIfAbsent(key, ignored -> new AtomicLong(nowNanos));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public void sweep() {
+        sweep(System.nanoTime());
+    }
+
+    public void sweep(long nowNanos) {
+        buckets.values().removeIf(arrival -> arrival.get() - nowNanos <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,120 @@
+package com.cubecrush.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationRegistryTest {
+
+    private static final long ACCESS_TOKEN_SECONDS = 900;
+
+    private RevocationRegistry registry;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        registry = new RevocationRegistry();
+        ReflectionTestUtils.setField(registry, "accessTokenExpirationSeconds", ACCESS_TOKEN_SECONDS);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void unknownTokenIsNotRevoked() {
+        assertFalse(registry.isRevoked(claims("jti-1", 7L, now)));
+    }
+
+    @Test
+    void revokedJtiIsRevokedUntilItExpires() {
+        registry.revoke(new RevocationRegistry.RevokedJti("jti-1", now + 60_000));
+        registry.revoke(new RevocationRegistry.RevokedJti("jti-2", now - 1));
+
+        assertTrue(registry.isRevoked(claims("jti-1", 7L, now)));
+        assertFalse(registry.isRevoked(claims("jti-2", 7L, now)));
+    }
+
+    @Test
+    void epochRevokesTokensIssuedEarlierInTheSameSecond() {
+        long epoch = (now / 1000) * 1000 + 500;
+        registry.advance(new RevocationRegistry.TokenEpoch(7L, epoch));
+
+        assertTrue(registry.isRevoked(claims("before", 7L, epoch - 1)));
+        assertFalse(registry.isRevoked(claims("at", 7L, epoch)));
+        assertFalse(registry.isRevoked(claims("after", 7L, epoch + 1)));
+        assertFalse(registry.isRevoked(claims("other-user", 8L, epoch - 1)));
+    }
+
+    @Test
+    void tokenWithoutMillisecondClaimFallsBackToIat() {
+        long epoch = (now / 1000) * 1000 + 500;
+        registry.advance(new RevocationRegistry.TokenEpoch(7L, epoch));
+
+        Claims earlierSecond = Jwts.claims().id("old").add("userId", 7L).issuedAt(new Date(epoch - 1000)).build();
+        Claims sameSecond = Jwts.claims().id("old").add("userId", 7L).issuedAt(new Date(epoch - 500)).build();
+
+        assertTrue(registry.isRevoked(earlierSecond));
+        assertTrue(registry.isRevoked(sameSecond));
+    }
+
+    @Test
+    void epochNeverMovesBackwards() {
+        registry.advance(new RevocationRegistry.TokenEpoch(7L, now));
+        registry.advance(new RevocationRegistry.TokenEpoch(7L, now - 30_000));
+
+        assertTrue(registry.isRevoked(claims("jti-1", 7L, now - 1)));
+    }
+
+    @Test
+    void snapshotIsAppliedOnTopOfKnownRevocations() {
+        registry.revoke(new RevocationRegistry.RevokedJti("known", now + 60_000));
+        registry.advance(new RevocationRegistry.TokenEpoch(7L, now));
+
+        registry.replace(new RevocationRegistry.Snapshot(
+                List.of(new RevocationRegistry.RevokedJti("from-snapshot", now + 60_000)),
+                List.of(new RevocationRegistry.TokenEpoch(7L, now - 10_000), new RevocationRegistry.TokenEpoch(8L, now))));
+
+        assertTrue(registry.isRevoked(claims("known", 1L, now)));
+        assertTrue(registry.isRevoked(claims("from-snapshot", 1L, now)));
+        assertTrue(registry.isRevoked(claims("jti-1", 7L, now - 1)));
+        assertTrue(registry.isRevoked(claims("jti-2", 8L, now - 1)));
+        assertEquals(4, registry.size());
+    }
+
+    @Test
+    void evictExpiredDropsExpiredJtisAndEpochsOlderThanAnyLiveToken() {
+        registry.revoke(new RevocationRegistry.RevokedJti("expired", now - 1));
+        registry.revoke(new RevocationRegistry.RevokedJti("live", now + 60_000));
+        registry.advance(new RevocationRegistry.TokenEpoch(1L, now - (ACCESS_TOKEN_SECONDS + 60) * 1000));
+        registry.advance(new RevocationRegistry.TokenEpoch(2L, now - 60_000));
+
+        registry.evictExpired();
+
+        assertEquals(2, registry.size());
+        assertTrue(registry.isRevoked(claims("live", 3L, now)));
+        assertTrue(registry.isRevoked(claims("jti-1", 2L, now - 120_000)));
+    }
+
+    @Test
+    void claimsWithoutUserIdAreOnlyCheckedByJti() {
+        registry.advance(new RevocationRegistry.TokenEpoch(7L, now));
+
+        assertFalse(registry.isRevoked(Jwts.claims().id("jti-1").issuedAt(new Date(now - 5000)).build()));
+    }
+
+    private static Claims claims(String jti, Long userId, long issuedAtMillis) {
+        return Jwts.claims()
+                .id(jti)
+                .add("userId", userId)
+                .add("iatMs", issuedAtMillis)
+                .issuedAt(new Date((issuedAtMillis / 1000) * 1000))
+                .build();
+    }
+}
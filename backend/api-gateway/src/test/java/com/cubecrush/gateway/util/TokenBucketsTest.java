@@ -0,0 +1,95 @@
+package com.cubecrush.gateway.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenBucketsTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long START = 5 * SECOND;
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        TokenBuckets buckets = new TokenBuckets(3, 1);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, buckets.tryAcquire("client", START));
+        }
+        assertEquals(SECOND, buckets.tryAcquire("client", START));
+    }
+
+    @Test
+    void retryAfterShrinksAsTimePasses() {
+        TokenBuckets buckets = new TokenBuckets(1, 2);
+        long interval = SECOND / 2;
+
+        assertEquals(0, buckets.tryAcquire("client", START));
+        assertEquals(interval, buckets.tryAcquire("client", START));
+        assertEquals(interval - 100, buckets.tryAcquire("client", START + 100));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBuckets buckets = new TokenBuckets(2, 1);
+        buckets.tryAcquire("client", START);
+        buckets.tryAcquire("client", START);
+
+        assertEquals(0, buckets.tryAcquire("client", START + SECOND));
+        assertEquals(SECOND, buckets.tryAcquire("client", START + SECOND));
+        assertEquals(0, buckets.tryAcquire("client", START + 2 * SECOND));
+    }
+
+    @Test
+    void idleClientGetsNoMoreThanCapacity() {
+        TokenBuckets buckets = new TokenBuckets(2, 1);
+        buckets.tryAcquire("client", START);
+
+        long later = START + 60 * SECOND;
+        assertEquals(0, buckets.tryAcquire("client", later));
+        assertEquals(0, buckets.tryAcquire("client", later));
+        assertEquals(SECOND, buckets.tryAcquire("client", later));
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        TokenBuckets buckets = new TokenBuckets(1, 1);
+        buckets.tryAcquire("client", START);
+        for (int i = 0; i < 10; i++) {
+            buckets.tryAcquire("client", START);
+        }
+
+        assertEquals(0, buckets.tryAcquire("client", START + SECOND));
+    }
+
+    @Test
+    void keysAreIndependent() {
+        TokenBuckets buckets = new TokenBuckets(1, 1);
+
+        assertEquals(0, buckets.tryAcquire("user:1", START));
+        assertEquals(0, buckets.tryAcquire("user:2", START));
+        assertEquals(SECOND, buckets.tryAcquire("user:1", START));
+    }
+
+    @Test
+    void sweepDropsOnlyBucketsThatAreFullAgain() {
+        TokenBuckets buckets = new TokenBuckets(2, 1);
+        buckets.tryAcquire("busy", START);
+        buckets.tryAcquire("busy", START);
+        buckets.tryAcquire("idle", START);
+
+        buckets.sweep(START + SECOND);
+        assertEquals(1, buckets.size());
+
+        buckets.sweep(START + 2 * SECOND);
+        assertEquals(0, buckets.size());
+        assertEquals(0, buckets.tryAcquire("busy", START + 2 * SECOND));
+    }
+
+    @Test
+    void rejectsNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBuckets(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBuckets(1, 0));
+    }
+}
@@ -26,10 +26,10 @@ public class UserSession {
     @Column(name = "user_nickname", nullable = false, length = 100)
     private String userNickname;
 
-    @Column(unique = true, nullable = false, length = 255)
+    @Column(nullable = false, length = 255)
     private String jti;
 
-    @Column(name = "refresh_token_hash", unique = true, nullable = false, length = 255)
+    @Column(name = "refresh_token_hash", nullable = false, length = 255)
     private String refreshTokenHash;
 
     @Column(name = "access_token_hash", length = 255)
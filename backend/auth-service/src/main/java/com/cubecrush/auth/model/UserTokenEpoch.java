@@ -0,0 +1,26 @@
+package com.cubecrush.auth.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Tokens of the user issued before {@code revokedBefore} are revoked, whatever their jti.
+ */
+@Entity
+@Table(name = "user_token_epochs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTokenEpoch {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private Instant revokedBefore;
+}
@@ -41,10 +41,6 @@ public interface UserSessionRepository extends JpaRepository<UserSession, Long>
     @Query("UPDATE UserSession us SET us.isRevoked = true WHERE us.jti = :jti AND us.isRevoked = false")
     int revokeSessionByJti(@Param("jti") String jti);
 
-    @Modifying
-    @Query("DELETE FROM UserSession us WHERE us.refreshTokenExpiresAt < :now")
-    int deleteExpiredSessions(@Param("now") Instant now);
-
     @Query("SELECT COUNT(us) FROM UserSession us WHERE us.isRevoked = false AND us.refreshTokenExpiresAt > :now")
     long countByIsRevokedFalseAndRefreshTokenExpiresAtAfter(@Param("now") Instant now);
 
@@ -0,0 +1,24 @@
+package com.cubecrush.auth.repository;
+
+import com.cubecrush.auth.model.UserTokenEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface UserTokenEpochRepository extends JpaRepository<UserTokenEpoch, Long> {
+
+    boolean existsByUserIdAndRevokedBeforeAfter(Long userId, Instant issuedAt);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_token_epochs (user_id, revoked_before)
+            VALUES (:userId, :revokedBefore)
+            ON CONFLICT (user_id) DO UPDATE SET revoked_before = GREATEST(user_token_epochs.revoked_before, EXCLUDED.revoked_before)
+            """, nativeQuery = true)
+    int advance(@Param("userId") Long userId, @Param("revokedBefore") Instant revokedBefore);
+}
@@ -83,25 +83,21 @@ public class AuthService {
     @Transactional
     public AuthResult refreshTokens(String refreshToken) {
         try {
-            String refreshTokenHash = jwtService.hashToken(refreshToken);
+            ParsedToken presented = jwtService.parse(refreshToken)
+                    .filter(ParsedToken::isRefresh)
+                    .orElseThrow(() -> new AuthException("AUTH_INVALID_TOKEN", HttpStatus.UNAUTHORIZED));
 
-            UserSession session = tokenService.findValidSessionByRefreshToken(refreshTokenHash)
+            UserSession session = tokenService.findValidSessionByRefreshToken(presented.hash())
                     .orElseThrow(() -> new AuthException("AUTH_INVALID_TOKEN", HttpStatus.UNAUTHORIZED));
 
-            tokenService.revokeSession(session.getJti());
+            if (!tokenService.revokeSession(session.getJti())) {
+                throw new AuthException("AUTH_INVALID_TOKEN", HttpStatus.UNAUTHORIZED);
+            }
 
-            String newAccessToken = jwtService.generateAccessToken(session.getUserId(), session.getUserNickname());
-            String newRefreshToken = jwtService.generateRefreshToken(session.getUserId(), session.getUserNickname());
+            ParsedToken newAccessToken = jwtService.issueAccessToken(session.getUserId(), session.getUserNickname());
+            ParsedToken newRefreshToken = jwtService.issueRefreshToken(session.getUserId(), session.getUserNickname());
 
-            tokenService.createSession(
-                    session.getUserId(),
-                    session.getUserNickname(),
-                    jwtService.getJtiFromToken(newAccessToken),
-                    jwtService.hashToken(newAccessToken),
-                    jwtService.hashToken(newRefreshToken),
-                    jwtService.getAccessTokenExpirationTime(),
-                    jwtService.getRefreshTokenExpirationTime()
-            );
+            tokenService.createSession(session.getUserId(), session.getUserNickname(), newAccessToken, newRefreshToken);
 
             UserProfile userProfile = restTemplate.getForObject(
                     USER_SERVICE + "/{userId}",
@@ -113,8 +109,8 @@ public class AuthService {
 
             return AuthResult.builder()
                     .userProfile(userProfile)
-                    .accessToken(newAccessToken)
-                    .refreshToken(newRefreshToken)
+                    .accessToken(newAccessToken.token())
+                    .refreshToken(newRefreshToken.token())
                     .build();
         } catch (AuthException e) {
             throw e;
@@ -125,61 +121,42 @@ public class AuthService {
     }
 
     private AuthResult createTokensAndSession(UserProfile userProfile) {
-        String accessToken = jwtService.generateAccessToken(userProfile.id(), userProfile.nickname());
-        String refreshToken = jwtService.generateRefreshToken(userProfile.id(), userProfile.nickname());
-
-        tokenService.createSession(
-                userProfile.id(),
-                userProfile.nickname(),
-                jwtService.getJtiFromToken(accessToken),
-                jwtService.hashToken(accessToken),
-                jwtService.hashToken(refreshToken),
-                jwtService.getAccessTokenExpirationTime(),
-                jwtService.getRefreshTokenExpirationTime()
-        );
+        ParsedToken accessToken = jwtService.issueAccessToken(userProfile.id(), userProfile.nickname());
+        ParsedToken refreshToken = jwtService.issueRefreshToken(userProfile.id(), userProfile.nickname());
+
+        tokenService.createSession(userProfile.id(), userProfile.nickname(), accessToken, refreshToken);
 
         log.info("User {} successfully authenticated", userProfile.nickname());
 
         return AuthResult.builder()
                 .userProfile(userProfile)
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
+                .accessToken(accessToken.token())
+                .refreshToken(refreshToken.token())
                 .build();
     }
 
     public boolean validateToken(String token) {
-        try {
-            return jwtService.validateToken(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return jwtService.parse(token)
+                .filter(parsed -> !tokenService.isTokenRevoked(parsed))
+                .isPresent();
     }
 
     public TokenValidationResponse validateTokenWithUser(String token) {
-        try {
-            if (!jwtService.validateToken(token)) {
-                return new TokenValidationResponse(false, null, null, null);
-            }
-            return new TokenValidationResponse(
-                    true,
-                    jwtService.getUserIdFromToken(token),
-                    jwtService.getUsernameFromToken(token),
-                    java.util.List.of("USER")
-            );
-        } catch (Exception e) {
-            return new TokenValidationResponse(false, null, null, null);
-        }
+        return jwtService.parse(token)
+                .filter(parsed -> !tokenService.isTokenRevoked(parsed))
+                .map(parsed -> new TokenValidationResponse(true, parsed.userId(), parsed.subject(), java.util.List.of("USER")))
+                .orElseGet(() -> new TokenValidationResponse(false, null, null, null));
     }
 
     @Transactional
     public void logout(String authHeader) {
         String token = extractToken(authHeader);
-        try {
-            String jti = jwtService.getJtiFromToken(token);
-            tokenService.revokeSession(jti);
-        } catch (Exception e) {
-            log.warn("Error during logout: {}", e.getMessage());
-        }
+        jwtService.parse(token).ifPresentOrElse(
+                parsed -> {
+                    tokenService.revokeSession(parsed.jti());
+                    tokenService.revokeToken(parsed.jti(), parsed.expiresAt());
+                },
+                () -> log.warn("Logout with an invalid or expired token"));
     }
 
     private String extractToken(String authHeader) {
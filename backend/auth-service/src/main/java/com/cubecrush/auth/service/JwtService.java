@@ -1,10 +1,11 @@
 package com.cubecrush.auth.service;
 
-import com.cubecrush.auth.model.UserSession;
-import com.cubecrush.auth.repository.UserSessionRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -15,17 +16,30 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.HexFormat;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
 @Service
 public class JwtService {
-    private final UserSessionRepository userSessionRepository;
+
+    /** Exact issue time in epoch millis; {@code iat} only has second precision. */
+    public static final String ISSUED_AT_MILLIS = "iatMs";
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    });
 
     private SecretKey signingKey;
+    private JwtParser parser;
 
     @Value("${jwt.secret:mySuperSecretKeyForCubeCrushGameThatShouldBeVeryLongAndSecure}")
     private String jwtSecret;
@@ -36,93 +50,71 @@ public class JwtService {
     @Value("${jwt.expiration.refresh:604800}")
     private long refreshTokenExpirationSeconds;
 
-    public JwtService(UserSessionRepository userSessionRepository) {
-        this.userSessionRepository = userSessionRepository;
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
-    private SecretKey getSigningKey() {
-        if (signingKey == null) {
-            signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        }
-        return signingKey;
+    public ParsedToken issueAccessToken(Long userId, String nickname) {
+        return issue(userId, nickname, ParsedToken.ACCESS, accessTokenExpirationSeconds);
     }
 
-    public String generateAccessToken(Long userId, String nickname) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userId);
-        claims.put("nickname", nickname);
-        claims.put("type", "access");
-
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(nickname)
-                .setIssuedAt(new Date())
-                .setExpiration(Date.from(Instant.now().plusSeconds(accessTokenExpirationSeconds)))
-                .setId(UUID.randomUUID().toString())
-                .signWith(getSigningKey())
-                .compact();
+    public ParsedToken issueRefreshToken(Long userId, String nickname) {
+        return issue(userId, nickname, ParsedToken.REFRESH, refreshTokenExpirationSeconds);
     }
 
-    public String generateRefreshToken(Long userId, String nickname) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userId);
-        claims.put("type", "refresh");
-
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(nickname)
-                .setIssuedAt(new Date())
-                .setExpiration(Date.from(Instant.now().plusSeconds(refreshTokenExpirationSeconds)))
-                .setId(UUID.randomUUID().toString())
-                .signWith(getSigningKey())
+    private ParsedToken issue(Long userId, String nickname, String type, long expirationSeconds) {
+        // JWT timestamps have second precision; truncating keeps expiresAt equal to what parse() reads back.
+        // The millisecond issue time travels in its own claim so that user epochs can tell apart
+        // tokens issued within the same second.
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Instant expiresAt = issuedAt.truncatedTo(ChronoUnit.SECONDS).plusSeconds(expirationSeconds);
+        String jti = UUID.randomUUID().toString();
+
+        var builder = Jwts.builder()
+                .claim("userId", userId)
+                .claim("type", type)
+                .claim(ISSUED_AT_MILLIS, issuedAt.toEpochMilli());
+        if (ParsedToken.ACCESS.equals(type)) {
+            builder.claim("nickname", nickname);
+        }
+        String token = builder
+                .subject(nickname)
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(expiresAt))
+                .id(jti)
+                .signWith(signingKey)
                 .compact();
+
+        return new ParsedToken(token, jti, userId, nickname, type, issuedAt, expiresAt, hashToken(token));
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies signature and expiry in a single parse. Empty when the token is malformed, forged or expired.
+     */
+    public Optional<ParsedToken> parse(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS, Long.class);
+            Instant issuedAt = issuedAtMillis != null ? Instant.ofEpochMilli(issuedAtMillis) : claims.getIssuedAt().toInstant();
+            return Optional.of(new ParsedToken(token, claims.getId(), claims.get("userId", Long.class),
+                    claims.getSubject(), claims.get("type", String.class), issuedAt,
+                    claims.getExpiration().toInstant(), hashToken(token)));
+        } catch (JwtException | IllegalArgumentException e) {
             log.debug("Invalid JWT token: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         }
     }
 
-    public String getUsernameFromToken(String token) {
-        return getClaimsFromToken(token).getSubject();
-    }
-
-    public Long getUserIdFromToken(String token) {
-        return getClaimsFromToken(token).get("userId", Long.class);
-    }
-
-    public String getJtiFromToken(String token) {
-        return getClaimsFromToken(token).getId();
-    }
-
-    public Instant getExpirationFromToken(String token) {
-        return getClaimsFromToken(token).getExpiration().toInstant();
-    }
-
-    public String getTokenTypeFromToken(String token) {
-        return getClaimsFromToken(token).get("type", String.class);
-    }
-
-    private Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean validateToken(String token) {
+        return parse(token).isPresent();
     }
 
-    public Instant getExpirationFromJti(String jti) {
-        return userSessionRepository.findByJti(jti)
-                .map(UserSession::getRefreshTokenExpiresAt)
-                .orElseThrow(() -> new IllegalArgumentException("Session not found for jti: " + jti));
+    public boolean isTokenValid(String token) {
+        return parse(token).filter(ParsedToken::isAccess).isPresent();
     }
 
     public Duration getAccessTokenExpiration() {
@@ -134,40 +126,7 @@ public class JwtService {
     }
 
     public String hashToken(String token) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
-
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            log.error("SHA-256 algorithm not available", e);
-            throw new RuntimeException("SHA-256 algorithm not available", e);
-        }
-    }
-
-    public Instant getAccessTokenExpirationTime() {
-        return Instant.now().plusSeconds(accessTokenExpirationSeconds);
-    }
-
-    public Instant getRefreshTokenExpirationTime() {
-        return Instant.now().plusSeconds(refreshTokenExpirationSeconds);
-    }
-
-    public boolean isTokenValid(String token) {
-        try {
-            return validateToken(token) &&
-                    "access".equals(getTokenTypeFromToken(token)) &&
-                    getExpirationFromToken(token).isAfter(Instant.now());
-        } catch (Exception e) {
-            return false;
-        }
+        MessageDigest digest = SHA_256.get();
+        return HEX.formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
     }
-}
\ No newline at end of file
+}
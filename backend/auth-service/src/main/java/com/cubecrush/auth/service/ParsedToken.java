@@ -0,0 +1,22 @@
+package com.cubecrush.auth.service;
+
+import java.time.Instant;
+
+/**
+ * A signed token together with the claims the service needs from it, produced once when the token
+ * is issued or verified so callers never re-parse it.
+ */
+public record ParsedToken(String token, String jti, Long userId, String subject, String type,
+                          Instant issuedAt, Instant expiresAt, String hash) {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    public boolean isAccess() {
+        return ACCESS.equals(type);
+    }
+
+    public boolean isRefresh() {
+        return REFRESH.equals(type);
+    }
+}
@@ -0,0 +1,164 @@
+package com.cubecrush.auth.service;
+
+import com.cubecrush.auth.web.dto.RevocationSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Properties;
+
+/**
+ * Follows the {@code auth_revocations} channel that the triggers on {@code revoked_tokens} and
+ * {@code user_sessions} and {@code user_token_epochs} notify, so revocations made through any
+ * instance reach every instance's {@link RevokedTokens}, {@link SessionCache} and
+ * {@link RevocationStream} subscribers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevocationFeedListener {
+
+    static final String CHANNEL = "auth_revocations";
+
+    private final RevokedTokens revokedTokens;
+    private final SessionCache sessionCache;
+    private final RevocationStream revocationStream;
+    private final ObjectMapper objectMapper;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @Value("${spring.application.name}")
+    private String applicationName;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${auth.revocations.feed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.revocations.feed.poll-timeout-ms:500}")
+    private int pollTimeoutMs;
+
+    @Value("${auth.revocations.feed.reconnect-delay-ms:1000}")
+    private long reconnectDelayMs;
+
+    @Value("${auth.revocations.evict-interval-ms:60000}")
+    private long evictIntervalMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Revocation feed disabled; revocation checks go to the database");
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "revocation-feed");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Loading after LISTEN means nothing revoked in between is missed.
+                revokedTokens.load();
+                sessionCache.resume();
+                log.info("Listening for revocations on {}", CHANNEL);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                long nextEviction = System.currentTimeMillis() + evictIntervalMs;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                    if (System.currentTimeMillis() >= nextEviction) {
+                        revokedTokens.evictExpired();
+                        nextEviction = System.currentTimeMillis() + evictIntervalMs;
+                    }
+                }
+            } catch (Exception e) {
+                revokedTokens.suspend();
+                sessionCache.suspend();
+                revocationStream.disconnectAll();
+                if (!running) {
+                    return;
+                }
+                log.warn("Revocation feed lost, checking the database until reconnected in {}ms: {}",
+                        reconnectDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("ApplicationName", applicationName + "-revocations");
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private void handle(String payload) {
+        try {
+            RevocationMessage message = objectMapper.readValue(payload, RevocationMessage.class);
+            switch (message.type()) {
+                case RevocationMessage.TOKEN -> {
+                    revokedTokens.add(message.jti(), Instant.ofEpochMilli(message.expiresAt()));
+                    revocationStream.publishToken(new RevocationSnapshot.RevokedJti(message.jti(), message.expiresAt()));
+                }
+                case RevocationMessage.SESSION -> sessionCache.invalidate(message.jti());
+                case RevocationMessage.EPOCH -> {
+                    revokedTokens.advanceEpoch(message.userId(), Instant.ofEpochMilli(message.revokedBefore()));
+                    revocationStream.publishEpoch(new RevocationSnapshot.TokenEpoch(message.userId(), message.revokedBefore()));
+                }
+                default -> log.debug("Ignoring revocation message of type {}", message.type());
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply revocation {}", payload, e);
+        }
+    }
+
+    record RevocationMessage(String type, String jti, Long expiresAt, Long userId, Long revokedBefore) {
+        static final String TOKEN = "token";
+        static final String SESSION = "session";
+        static final String EPOCH = "epoch";
+    }
+}
@@ -0,0 +1,262 @@
+package com.cubecrush.auth.service;
+
+import com.cubecrush.auth.exception.AuthException;
+import com.cubecrush.auth.web.dto.RevocationSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes revocations to subscribers (the gateways): a {@code snapshot} of everything currently
+ * revoked, then a {@code token} or {@code epoch} event for each revocation seen on the feed.
+ * Publishing only enqueues; a sender pool writes to the sockets, so one slow gateway cannot hold
+ * up the feed listener or the other gateways.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevocationStream {
+
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String TOKEN_EVENT = "token";
+    private static final String EPOCH_EVENT = "epoch";
+
+    private final RevokedTokens revokedTokens;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService heartbeats;
+    private ThreadPoolExecutor sender;
+
+    @Value("${auth.revocations.stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${auth.revocations.stream.sender-threads:2}")
+    private int senderThreads;
+
+    @Value("${auth.revocations.stream.sender-queue-capacity:1024}")
+    private int senderQueueCapacity;
+
+    @Value("${auth.revocations.stream.subscriber-queue-capacity:10000}")
+    private int subscriberQueueCapacity;
+
+    @Value("${auth.revocations.stream.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @PostConstruct
+    public void start() {
+        heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("revocation-stream"));
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(senderQueueCapacity), daemonThreads("revocation-stream-sender"));
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        heartbeats.scheduleWithFixedDelay(this::closeStalled, 1000, 1000, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+        sender.shutdownNow();
+        disconnectAll();
+    }
+
+    /** The snapshot is queued under the same lock as publishing, so no revocation falls between it and the events. */
+    public synchronized SseEmitter subscribe() {
+        if (!revokedTokens.isReady()) {
+            throw new AuthException("AUTH_REVOCATIONS_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.offer(SseEmitter.event().name(SNAPSHOT_EVENT).data(revokedTokens.snapshot()).build());
+        return emitter;
+    }
+
+    public synchronized void publishToken(RevocationSnapshot.RevokedJti token) {
+        broadcast(SseEmitter.event().name(TOKEN_EVENT).data(token));
+    }
+
+    public synchronized void publishEpoch(RevocationSnapshot.TokenEpoch epoch) {
+        broadcast(SseEmitter.event().name(EPOCH_EVENT).data(epoch));
+    }
+
+    /** Subscribers may have missed revocations; closing makes them reconnect for a fresh snapshot. */
+    public synchronized void disconnectAll() {
+        subscribers.forEach(subscriber -> subscriber.close(null));
+        subscribers.clear();
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private synchronized void heartbeat() {
+        broadcast(SseEmitter.event().comment("heartbeat"));
+    }
+
+    private void closeStalled() {
+        long stalledBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        subscribers.forEach(subscriber -> {
+            if (subscriber.stalledSince(stalledBefore)) {
+                subscriber.close(new IOException("Revocation stream send timed out"));
+            }
+        });
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = event.build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Frames are queued per subscriber and written by the sender pool. Overflowing the queue or
+     * stalling a write past the send timeout closes the subscriber, and the gateway reconnects for
+     * a fresh snapshot, so nothing is lost. A subscriber closed mid-write is completed by the
+     * sender once the write returns, so no other thread waits on its socket.
+     */
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> frames = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean sending;
+        private boolean closed;
+        private Throwable closeCause;
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            boolean overflow;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                overflow = frames.size() >= subscriberQueueCapacity;
+                if (!overflow) {
+                    frames.add(frame);
+                    if (scheduled) {
+                        return;
+                    }
+                    scheduled = true;
+                }
+            }
+            if (overflow) {
+                close(new IOException("Revocation stream subscriber queue overflowed"));
+                return;
+            }
+            try {
+                sender.execute(this);
+            } catch (RejectedExecutionException e) {
+                close(new IOException("Revocation stream sender is saturated", e));
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                synchronized (this) {
+                    frame = closed ? null : frames.poll();
+                    if (frame == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    sending = true;
+                }
+                sendingSince = System.nanoTime();
+                Throwable failure = null;
+                try {
+                    emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    failure = e;
+                }
+                sendingSince = 0;
+                boolean closedMeanwhile;
+                synchronized (this) {
+                    sending = false;
+                    closedMeanwhile = closed;
+                    if (failure != null && !closed) {
+                        closed = true;
+                        closeCause = failure;
+                    }
+                    if (closed) {
+                        scheduled = false;
+                    }
+                }
+                if (failure != null || closedMeanwhile) {
+                    finish();
+                    return;
+                }
+            }
+        }
+
+        boolean stalledSince(long nanos) {
+            long since = sendingSince;
+            return since != 0 && since - nanos < 0;
+        }
+
+        void close(Throwable cause) {
+            boolean idle;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                closeCause = cause;
+                idle = !sending;
+            }
+            subscribers.remove(this);
+            if (idle) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            Throwable cause;
+            synchronized (this) {
+                frames.clear();
+                cause = closeCause;
+            }
+            subscribers.remove(this);
+            if (cause == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.cubecrush.auth.service;
+
+import com.cubecrush.auth.web.dto.RevocationSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unexpired revoked jtis with their token expiry, and per-user epochs before which every token of
+ * the user is revoked. Only trusted while the revocation feed is connected; until then
+ * {@link #isReady()} is false and callers ask the database instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevokedTokens {
+
+    private static final String LOAD_TOKENS = "SELECT jti, expires_at FROM revoked_tokens WHERE expires_at > now()";
+    private static final String LOAD_EPOCHS = "SELECT user_id, revoked_before FROM user_token_epochs WHERE revoked_before > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<String, Long> expiries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> epochs = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Value("${jwt.expiration.access:900}")
+    private long accessTokenExpirationSeconds;
+
+    public void load() {
+        long startTime = System.currentTimeMillis();
+        jdbcTemplate.query(LOAD_TOKENS, rs -> add(rs.getString("jti"), rs.getTimestamp("expires_at").toInstant()));
+        jdbcTemplate.query(LOAD_EPOCHS, rs -> advanceEpoch(rs.getLong("user_id"), rs.getTimestamp("revoked_before").toInstant()),
+                Timestamp.from(oldestLiveIssuedAt()));
+        ready = true;
+        log.info("Loaded {} revoked tokens and {} user epochs in {}ms", expiries.size(), epochs.size(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    public void suspend() {
+        ready = false;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void add(String jti, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (expiresAtMillis > System.currentTimeMillis()) {
+            expiries.merge(jti, expiresAtMillis, Math::max);
+        }
+    }
+
+    public void advanceEpoch(Long userId, Instant revokedBefore) {
+        epochs.merge(userId, revokedBefore.toEpochMilli(), Math::max);
+    }
+
+    public boolean contains(String jti) {
+        Long expiresAt = expiries.get(jti);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            expiries.remove(jti, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isRevoked(ParsedToken token) {
+        Long revokedBefore = epochs.get(token.userId());
+        return (revokedBefore != null && token.issuedAt().toEpochMilli() < revokedBefore) || contains(token.jti());
+    }
+
+    /** Expired tokens fail signature checks anyway, so their entries are dropped. */
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        expiries.values().removeIf(expiresAt -> expiresAt <= now);
+        long oldestLiveIssuedAt = oldestLiveIssuedAt().toEpochMilli();
+        epochs.values().removeIf(revokedBefore -> revokedBefore <= oldestLiveIssuedAt);
+    }
+
+    public RevocationSnapshot snapshot() {
+        List<RevocationSnapshot.RevokedJti> tokens = expiries.entrySet().stream()
+                .map(entry -> new RevocationSnapshot.RevokedJti(entry.getKey(), entry.getValue()))
+                .toList();
+        List<RevocationSnapshot.TokenEpoch> userEpochs = epochs.entrySet().stream()
+                .map(entry -> new RevocationSnapshot.TokenEpoch(entry.getKey(), entry.getValue()))
+                .toList();
+        return new RevocationSnapshot(tokens, userEpochs);
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+
+    /** An epoch older than this cannot revoke anything: every access token issued before it has expired. */
+    private Instant oldestLiveIssuedAt() {
+        return Instant.now().minusSeconds(accessTokenExpirationSeconds);
+    }
+}
@@ -0,0 +1,215 @@
+package com.cubecrush.auth.service;
+
+import com.cubecrush.auth.model.UserSession;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-through cache of live sessions by jti, with a refresh-token-hash index and a per-user index
+ * for bulk revocation. Like {@link RevokedTokens} it is only used while the revocation feed is
+ * connected, because that feed is how revocations made on other instances evict entries here.
+ * <p>
+ * Every invalidation leaves a short-lived tombstone stamped from a counter. A session read from
+ * the database is cached only if no tombstone for its jti or user is newer than the stamp taken
+ * before the read, so a reader that saw the row just before a revocation cannot re-cache it.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionCache {
+
+    private final MeterRegistry meterRegistry;
+
+    private static final Duration TOMBSTONE_TTL = Duration.ofMinutes(1);
+
+    private final Map<Long, Set<String>> jtisByUser = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Cache<String, Long> jtiTombstones = Caffeine.newBuilder().expireAfterWrite(TOMBSTONE_TTL).build();
+    private final Cache<Long, Long> userTombstones = Caffeine.newBuilder().expireAfterWrite(TOMBSTONE_TTL).build();
+    private Cache<String, UserSession> sessionsByJti;
+    private Cache<String, String> jtisByRefreshHash;
+    private volatile boolean ready;
+
+    private Counter jtiHits;
+    private Counter jtiMisses;
+    private Counter refreshHits;
+    private Counter refreshMisses;
+
+    @Value("${auth.sessions.cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${jwt.expiration.refresh:604800}")
+    private long refreshTokenExpirationSeconds;
+
+    @PostConstruct
+    public void init() {
+        sessionsByJti = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilRefreshExpiry())
+                .removalListener((String jti, UserSession session, RemovalCause cause) -> {
+                    if (jti != null && session != null && cause != RemovalCause.REPLACED) {
+                        unindex(session.getUserId(), jti);
+                    }
+                })
+                .build();
+        jtisByRefreshHash = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(refreshTokenExpirationSeconds))
+                .build();
+
+        jtiHits = lookupCounter("jti", "hit");
+        jtiMisses = lookupCounter("jti", "miss");
+        refreshHits = lookupCounter("refresh_token", "hit");
+        refreshMisses = lookupCounter("refresh_token", "miss");
+        Gauge.builder("auth.sessions.cache.size", sessionsByJti, Cache::estimatedSize)
+                .description("Sessions held in the session cache")
+                .register(meterRegistry);
+    }
+
+    private Counter lookupCounter(String lookup, String result) {
+        return Counter.builder("auth.sessions.cache.lookups")
+                .tag("lookup", lookup)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void resume() {
+        sessionsByJti.invalidateAll();
+        jtisByRefreshHash.invalidateAll();
+        ready = true;
+    }
+
+    public void suspend() {
+        ready = false;
+    }
+
+    public Optional<UserSession> findLiveByJti(String jti) {
+        Optional<UserSession> session = live(sessionsByJti.getIfPresent(jti));
+        (session.isPresent() ? jtiHits : jtiMisses).increment();
+        return session;
+    }
+
+    public Optional<UserSession> findLiveByRefreshHash(String refreshTokenHash) {
+        String jti = jtisByRefreshHash.getIfPresent(refreshTokenHash);
+        Optional<UserSession> session = jti == null ? Optional.empty() : live(sessionsByJti.getIfPresent(jti))
+                .filter(cached -> refreshTokenHash.equals(cached.getRefreshTokenHash()));
+        (session.isPresent() ? refreshHits : refreshMisses).increment();
+        return session;
+    }
+
+    /** Returns the stamp to pass to {@link #put} for a session about to be read from the database. */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Caches a newly created session once its transaction commits. Nobody else holds its tokens
+     * before the response is sent, so the stamp can be taken at commit.
+     */
+    public void putAfterCommit(UserSession session) {
+        AfterCommit.run(() -> put(session, stamp()));
+    }
+
+    /** Evicts a revoked session once the revocation commits. */
+    public void invalidateAfterCommit(String jti) {
+        AfterCommit.run(() -> invalidate(jti));
+    }
+
+    public void invalidateUserAfterCommit(Long userId) {
+        AfterCommit.run(() -> invalidateUser(userId));
+    }
+
+    /**
+     * Caches a session read after {@code stamp} was taken, unless it was invalidated since. The
+     * check runs inside the cache's per-key compute, which an invalidation of the same jti waits for.
+     */
+    public void put(UserSession session, long stamp) {
+        if (!ready || session.getIsRevoked()) {
+            return;
+        }
+        jtisByUser.compute(session.getUserId(), (userId, jtis) -> {
+            Set<String> indexed = jtis == null ? ConcurrentHashMap.newKeySet() : jtis;
+            indexed.add(session.getJti());
+            return indexed;
+        });
+        UserSession cached = sessionsByJti.asMap().compute(session.getJti(),
+                (jti, current) -> invalidatedSince(session, stamp) ? current : session);
+        if (cached == session) {
+            jtisByRefreshHash.put(session.getRefreshTokenHash(), session.getJti());
+        } else if (cached == null) {
+            unindex(session.getUserId(), session.getJti());
+        }
+    }
+
+    public void invalidate(String jti) {
+        jtiTombstones.put(jti, invalidations.incrementAndGet());
+        sessionsByJti.invalidate(jti);
+    }
+
+    public void invalidateUser(Long userId) {
+        userTombstones.put(userId, invalidations.incrementAndGet());
+        Set<String> jtis = jtisByUser.remove(userId);
+        if (jtis != null) {
+            sessionsByJti.invalidateAll(jtis);
+        }
+    }
+
+    private boolean invalidatedSince(UserSession session, long stamp) {
+        Long jtiInvalidated = jtiTombstones.getIfPresent(session.getJti());
+        Long userInvalidated = userTombstones.getIfPresent(session.getUserId());
+        return (jtiInvalidated != null && jtiInvalidated > stamp)
+                || (userInvalidated != null && userInvalidated > stamp);
+    }
+
+    private void unindex(Long userId, String jti) {
+        jtisByUser.computeIfPresent(userId, (id, jtis) -> {
+            jtis.remove(jti);
+            return jtis.isEmpty() ? null : jtis;
+        });
+    }
+
+    private static Optional<UserSession> live(UserSession session) {
+        if (session == null || session.getIsRevoked() || !session.getRefreshTokenExpiresAt().isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(session);
+    }
+
+    private static class UntilRefreshExpiry implements Expiry<String, UserSession> {
+
+        @Override
+        public long expireAfterCreate(String jti, UserSession session, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), session.getRefreshTokenExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String jti, UserSession session, long currentTime, long currentDuration) {
+            return expireAfterCreate(jti, session, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String jti, UserSession session, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
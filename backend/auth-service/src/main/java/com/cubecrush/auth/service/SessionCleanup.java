@@ -0,0 +1,171 @@
+package com.cubecrush.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Removes expired sessions and revoked tokens. On plain tables rows go in small keyset-ordered
+ * batches, each its own short transaction with a pause in between, so cleanup never holds locks for
+ * long. When {@code database/auth_partitioned.sql} has been applied, whole expired daily
+ * partitions are dropped instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionCleanup {
+
+    private static final String IS_PARTITIONED =
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'user_sessions'::regclass)";
+    private static final String ENSURE_PARTITIONS = "SELECT ensure_auth_partitions(?::date, ?::date)";
+    private static final String DROP_PARTITIONS = "SELECT drop_expired_auth_partitions(?)";
+
+    private static final String DELETE_SESSIONS = """
+            WITH batch AS (
+                SELECT id, refresh_token_expires_at
+                FROM user_sessions
+                WHERE refresh_token_expires_at < ?
+                  AND (refresh_token_expires_at, id) > (?, ?::bigint)
+                ORDER BY refresh_token_expires_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), deleted AS (
+                DELETE FROM user_sessions s
+                USING batch
+                WHERE s.id = batch.id
+                RETURNING batch.refresh_token_expires_at AS expires_at, batch.id
+            )
+            SELECT count(*) OVER () AS deleted, expires_at, id::text AS id
+            FROM deleted
+            ORDER BY expires_at DESC, id DESC
+            LIMIT 1
+            """;
+    private static final String DELETE_REVOKED_TOKENS = """
+            WITH batch AS (
+                SELECT jti, expires_at
+                FROM revoked_tokens
+                WHERE expires_at < ?
+                  AND (expires_at, jti) > (?, ?)
+                ORDER BY expires_at, jti
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), deleted AS (
+                DELETE FROM revoked_tokens t
+                USING batch
+                WHERE t.jti = batch.jti
+                RETURNING batch.expires_at, batch.jti
+            )
+            SELECT count(*) OVER () AS deleted, expires_at, jti AS id
+            FROM deleted
+            ORDER BY expires_at DESC, jti DESC
+            LIMIT 1
+            """;
+    private static final String DELETE_EPOCHS = "DELETE FROM user_token_epochs WHERE revoked_before < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JwtService jwtService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.cleanup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.cleanup.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${auth.cleanup.pause-ms:50}")
+    private long pauseMs;
+
+    @Value("${auth.cleanup.max-duration-ms:300000}")
+    private long maxDurationMs;
+
+    @Value("${auth.cleanup.partitions.days-ahead:14}")
+    private int partitionDaysAhead;
+
+    @Scheduled(cron = "${auth.cleanup.cron:0 7 * * * *}")
+    public void cleanup() {
+        if (!enabled) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Instant now = Instant.now();
+        try {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class))) {
+                dropExpiredPartitions(now);
+            } else {
+                long deadline = System.currentTimeMillis() + maxDurationMs;
+                long sessions = deleteInBatches("user_sessions", DELETE_SESSIONS, now, "0", deadline);
+                long tokens = deleteInBatches("revoked_tokens", DELETE_REVOKED_TOKENS, now, "", deadline);
+                log.info("Cleaned up {} expired sessions and {} revoked tokens", sessions, tokens);
+            }
+            cleanupEpochs(now);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Session cleanup failed", e);
+        } finally {
+            sample.stop(meterRegistry.timer("auth.cleanup.duration"));
+        }
+    }
+
+    private long deleteInBatches(String table, String sql, Instant cutoff, String firstKey, long deadline)
+            throws InterruptedException {
+        Counter deleted = meterRegistry.counter("auth.cleanup.deleted", "table", table);
+        Counter batches = meterRegistry.counter("auth.cleanup.batches", "table", table);
+        Timestamp lastExpiresAt = Timestamp.from(Instant.EPOCH);
+        String lastKey = firstKey;
+        long total = 0;
+        while (true) {
+            List<Batch> result = jdbcTemplate.query(sql,
+                    (rs, rowNum) -> new Batch(rs.getInt("deleted"), rs.getTimestamp("expires_at"), rs.getString("id")),
+                    Timestamp.from(cutoff), lastExpiresAt, lastKey, batchSize);
+            int count = result.isEmpty() ? 0 : result.get(0).deleted();
+            total += count;
+            deleted.increment(count);
+            batches.increment();
+            if (count < batchSize) {
+                return total;
+            }
+            lastExpiresAt = result.get(0).lastExpiresAt();
+            lastKey = result.get(0).lastKey();
+            if (System.currentTimeMillis() >= deadline) {
+                log.info("Cleanup of {} stopped after {} rows at the time budget; the next run continues", table, total);
+                return total;
+            }
+            log.debug("Deleted {} expired rows from {} so far", total, table);
+            Thread.sleep(pauseMs);
+        }
+    }
+
+    /**
+     * Partitions are created far enough ahead to hold every refresh token issued before the next
+     * run, whatever the configured look-ahead, so new sessions never fall into the default partition.
+     */
+    private void dropExpiredPartitions(Instant now) {
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        long daysAhead = Math.max(partitionDaysAhead, jwtService.getRefreshTokenExpiration().toDays() + 2);
+        jdbcTemplate.queryForObject(ENSURE_PARTITIONS, Integer.class, today, today.plusDays(daysAhead));
+        Integer dropped = jdbcTemplate.queryForObject(DROP_PARTITIONS, Integer.class, Timestamp.from(now));
+        meterRegistry.counter("auth.cleanup.partitions.dropped").increment(dropped == null ? 0 : dropped);
+        log.info("Dropped {} expired session and revoked token partitions", dropped);
+    }
+
+    private void cleanupEpochs(Instant now) {
+        jdbcTemplate.update(DELETE_EPOCHS, Timestamp.from(now.minus(jwtService.getAccessTokenExpiration())));
+    }
+
+    /** Rows deleted by one batch and the keyset position of the last of them. */
+    private record Batch(int deleted, Timestamp lastExpiresAt, String lastKey) {
+    }
+}
@@ -3,16 +3,18 @@ package com.cubecrush.auth.service;
 import com.cubecrush.auth.model.RevokedToken;
 import com.cubecrush.auth.model.UserSession;
 import com.cubecrush.auth.repository.RevokedTokenRepository;
+import com.cubecrush.auth.repository.UserTokenEpochRepository;
 import com.cubecrush.auth.repository.UserSessionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -20,6 +22,15 @@ import java.util.Optional;
 public class TokenService {
     private final UserSessionRepository userSessionRepository;
     private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenEpochRepository userTokenEpochRepository;
+    private final RevokedTokens revokedTokens;
+    private final SessionCache sessionCache;
+
+    @Transactional
+    public UserSession createSession(Long userId, String userNickname, ParsedToken accessToken, ParsedToken refreshToken) {
+        return createSession(userId, userNickname, accessToken.jti(), accessToken.hash(), refreshToken.hash(),
+                accessToken.expiresAt(), refreshToken.expiresAt());
+    }
 
     @Transactional
     public UserSession createSession(Long userId, String userNickname, String jti,
@@ -44,13 +55,19 @@ public class TokenService {
                 .build();
 
         UserSession savedSession = userSessionRepository.save(session);
+        sessionCache.putAfterCommit(savedSession);
         log.info("Created session with jti: {} for user: {}", jti, userNickname);
         return savedSession;
     }
 
     public Optional<UserSession> findValidSessionByRefreshToken(String refreshTokenHash) {
-        return userSessionRepository.findByRefreshTokenHashAndIsRevokedFalseAndRefreshTokenExpiresAtAfter(
-                refreshTokenHash, Instant.now());
+        if (!sessionCache.isReady()) {
+            return userSessionRepository.findByRefreshTokenHashAndIsRevokedFalseAndRefreshTokenExpiresAtAfter(
+                    refreshTokenHash, Instant.now());
+        }
+        return sessionCache.findLiveByRefreshHash(refreshTokenHash)
+                .or(() -> loadAndCache(() -> userSessionRepository
+                        .findByRefreshTokenHashAndIsRevokedFalseAndRefreshTokenExpiresAtAfter(refreshTokenHash, Instant.now())));
     }
 
     public Optional<UserSession> findValidSessionByAccessToken(String accessTokenHash) {
@@ -59,23 +76,49 @@ public class TokenService {
     }
 
     public Optional<UserSession> findValidSessionByJti(String jti) {
-        return userSessionRepository.findByJtiAndIsRevokedFalseAndRefreshTokenExpiresAtAfter(
-                jti, Instant.now());
+        if (!sessionCache.isReady()) {
+            return userSessionRepository.findByJtiAndIsRevokedFalseAndRefreshTokenExpiresAtAfter(jti, Instant.now());
+        }
+        return sessionCache.findLiveByJti(jti)
+                .or(() -> loadAndCache(() -> userSessionRepository
+                        .findByJtiAndIsRevokedFalseAndRefreshTokenExpiresAtAfter(jti, Instant.now())));
     }
 
+    private Optional<UserSession> loadAndCache(Supplier<Optional<UserSession>> query) {
+        long stamp = sessionCache.stamp();
+        Optional<UserSession> session = query.get();
+        session.ifPresent(loaded -> sessionCache.put(loaded, stamp));
+        return session;
+    }
+
+    /**
+     * Returns false when the session was not found or was already revoked, e.g. by a concurrent
+     * refresh with the same token.
+     */
     @Transactional
-    public void revokeSession(String jti) {
+    public boolean revokeSession(String jti) {
         int updatedCount = userSessionRepository.revokeSessionByJti(jti);
+        sessionCache.invalidateAfterCommit(jti);
         if (updatedCount > 0) {
             log.info("Revoked session with jti: {}", jti);
-        } else {
-            log.debug("Session with jti: {} not found or already revoked", jti);
+            return true;
         }
+        log.debug("Session with jti: {} not found or already revoked", jti);
+        return false;
     }
 
+    /**
+     * Revokes the user's sessions and every access token issued before now. Tokens carry their issue
+     * time in milliseconds, so a token issued earlier in the same second is revoked while the one a
+     * login issues right after this call is not.
+     */
     @Transactional
     public void revokeAllUserSessions(Long userId) {
         int revokedCount = userSessionRepository.revokeAllUserSessions(userId);
+        sessionCache.invalidateUserAfterCommit(userId);
+        Instant revokedBefore = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        userTokenEpochRepository.advance(userId, revokedBefore);
+        AfterCommit.run(() -> revokedTokens.advanceEpoch(userId, revokedBefore));
         log.info("Revoked {} sessions for user id: {}", revokedCount, userId);
     }
 
@@ -89,13 +132,25 @@ public class TokenService {
                     .build();
 
             revokedTokenRepository.save(revokedToken);
+            AfterCommit.run(() -> revokedTokens.add(jti, expiresAt));
             log.info("Added token to blacklist, jti: {}", jti);
         } else {
             log.debug("Token with jti: {} already in blacklist", jti);
         }
     }
 
+    public boolean isTokenRevoked(ParsedToken token) {
+        if (revokedTokens.isReady()) {
+            return revokedTokens.isRevoked(token);
+        }
+        return revokedTokenRepository.existsByJti(token.jti())
+                || userTokenEpochRepository.existsByUserIdAndRevokedBeforeAfter(token.userId(), token.issuedAt());
+    }
+
     public boolean isTokenRevoked(String jti) {
+        if (revokedTokens.isReady()) {
+            return revokedTokens.contains(jti);
+        }
         return revokedTokenRepository.existsByJti(jti);
     }
 
@@ -116,26 +171,6 @@ public class TokenService {
         return findValidSessionByJti(jti).isPresent();
     }
 
-    @Scheduled(cron = "0 0 */6 * * ?")
-    @Transactional
-    public void cleanupExpiredData() {
-        Instant now = Instant.now();
-
-        int sessionsDeleted = userSessionRepository.deleteExpiredSessions(now);
-        int tokensDeleted = revokedTokenRepository.deleteExpiredTokens(now);
-
-        log.info("Cleaned up {} expired sessions and {} revoked tokens",
-                sessionsDeleted, tokensDeleted);
-    }
-
-    @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
-    public void cleanupOldRevokedTokens() {
-        Instant oldThreshold = Instant.now().minusSeconds(7 * 24 * 3600L); // 7 дней назад
-        int deletedCount = revokedTokenRepository.deleteByRevokedAtBefore(oldThreshold);
-        log.info("Cleaned up {} old revoked tokens", deletedCount);
-    }
-
     public SessionStats getSessionStats() {
         Instant now = Instant.now();
         long activeSessions = userSessionRepository.countByIsRevokedFalseAndRefreshTokenExpiresAtAfter(now);
@@ -0,0 +1,23 @@
+package com.cubecrush.auth.web;
+
+import com.cubecrush.auth.service.RevocationStream;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Hidden
+@RestController
+@RequestMapping("/api/v1/system/auth")
+@RequiredArgsConstructor
+public class AuthSystemController {
+    private final RevocationStream revocationStream;
+
+    @GetMapping(value = "/revocations/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRevocations() {
+        return revocationStream.subscribe();
+    }
+}
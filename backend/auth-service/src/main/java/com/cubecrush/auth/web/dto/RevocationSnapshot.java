@@ -0,0 +1,12 @@
+package com.cubecrush.auth.web.dto;
+
+import java.util.List;
+
+public record RevocationSnapshot(
+        List<RevokedJti> tokens,
+        List<TokenEpoch> epochs
+) {
+    public record RevokedJti(String jti, long expiresAt) {}
+
+    public record TokenEpoch(Long userId, long revokedBefore) {}
+}
@@ -0,0 +1,46 @@
+package com.cubecrush.auth.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTest {
+
+    private final JwtService jwtService = jwtService("first-test-secret-that-is-at-least-32-bytes-long");
+
+    @Test
+    void parsedTokenKeepsMillisecondIssueTime() {
+        ParsedToken issued = jwtService.issueAccessToken(42L, "player42");
+
+        ParsedToken parsed = jwtService.parse(issued.token()).orElseThrow();
+
+        assertEquals(issued.issuedAt(), parsed.issuedAt());
+        assertEquals(issued.expiresAt(), parsed.expiresAt());
+        assertEquals(issued.expiresAt(), issued.expiresAt().truncatedTo(ChronoUnit.SECONDS));
+        assertEquals(issued.jti(), parsed.jti());
+        assertEquals(42L, parsed.userId());
+        assertTrue(parsed.isAccess());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        JwtService other = jwtService("second-test-secret-that-is-at-least-32-bytes-long");
+
+        assertFalse(jwtService.parse(other.issueAccessToken(42L, "player42").token()).isPresent());
+        assertFalse(jwtService.parse("not-a-token").isPresent());
+    }
+
+    private static JwtService jwtService(String secret) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "jwtSecret", secret);
+        ReflectionTestUtils.setField(service, "accessTokenExpirationSeconds", 900L);
+        ReflectionTestUtils.setField(service, "refreshTokenExpirationSeconds", 604800L);
+        service.init();
+        return service;
+    }
+}
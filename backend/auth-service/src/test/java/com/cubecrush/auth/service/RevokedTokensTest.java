@@ -0,0 +1,166 @@
+package com.cubecrush.auth.service;
+
+import com.cubecrush.auth.web.dto.RevocationSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevokedTokensTest {
+
+    private static final long ACCESS_TOKEN_SECONDS = 900;
+
+    private final List<Map<String, Object>> tokenRows = new ArrayList<>();
+    private final List<Map<String, Object>> epochRows = new ArrayList<>();
+    private final List<Object> epochQueryArgs = new ArrayList<>();
+    private RevokedTokens revokedTokens;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokens = new RevokedTokens(new FakeJdbcTemplate());
+        ReflectionTestUtils.setField(revokedTokens, "accessTokenExpirationSeconds", ACCESS_TOKEN_SECONDS);
+    }
+
+    @Test
+    void readyOnlyBetweenLoadAndSuspend() {
+        assertFalse(revokedTokens.isReady());
+
+        revokedTokens.load();
+        assertTrue(revokedTokens.isReady());
+
+        revokedTokens.suspend();
+        assertFalse(revokedTokens.isReady());
+    }
+
+    @Test
+    void loadReadsRevokedJtisAndRecentEpochs() {
+        Instant now = Instant.now();
+        tokenRows.add(Map.of("jti", "revoked-1", "expires_at", Timestamp.from(now.plusSeconds(60))));
+        epochRows.add(Map.of("user_id", 7L, "revoked_before", Timestamp.from(now)));
+
+        revokedTokens.load();
+
+        assertTrue(revokedTokens.contains("revoked-1"));
+        assertTrue(revokedTokens.isRevoked(token("other", 7L, now.minusSeconds(1))));
+        Instant cutoff = ((Timestamp) epochQueryArgs.get(0)).toInstant();
+        assertTrue(cutoff.isBefore(now.minusSeconds(ACCESS_TOKEN_SECONDS - 5)));
+    }
+
+    @Test
+    void revokedJtiIsRevokedUntilItExpires() throws InterruptedException {
+        revokedTokens.add("short-lived", Instant.now().plusMillis(50));
+        revokedTokens.add("already-expired", Instant.now().minusSeconds(1));
+
+        assertTrue(revokedTokens.contains("short-lived"));
+        assertFalse(revokedTokens.contains("already-expired"));
+        assertTrue(revokedTokens.isRevoked(token("short-lived", 1L, Instant.now())));
+
+        Thread.sleep(100);
+        assertFalse(revokedTokens.contains("short-lived"));
+        assertEquals(0, revokedTokens.size());
+    }
+
+    @Test
+    void epochRevokesOnlyTokensIssuedBeforeIt() {
+        Instant epoch = Instant.now();
+        revokedTokens.advanceEpoch(7L, epoch);
+
+        assertTrue(revokedTokens.isRevoked(token("a", 7L, epoch.minusMillis(1))));
+        assertFalse(revokedTokens.isRevoked(token("b", 7L, epoch)));
+        assertFalse(revokedTokens.isRevoked(token("c", 7L, epoch.plusMillis(1))));
+        assertFalse(revokedTokens.isRevoked(token("d", 8L, epoch.minusSeconds(1))));
+    }
+
+    @Test
+    void epochNeverMovesBackwards() {
+        Instant epoch = Instant.now();
+        revokedTokens.advanceEpoch(7L, epoch);
+        revokedTokens.advanceEpoch(7L, epoch.minusSeconds(30));
+
+        assertTrue(revokedTokens.isRevoked(token("a", 7L, epoch.minusSeconds(1))));
+    }
+
+    @Test
+    void evictExpiredDropsEpochsOlderThanAnyLiveToken() {
+        Instant now = Instant.now();
+        revokedTokens.advanceEpoch(1L, now.minusSeconds(ACCESS_TOKEN_SECONDS + 60));
+        revokedTokens.advanceEpoch(2L, now.minusSeconds(60));
+        revokedTokens.add("live", now.plusSeconds(60));
+
+        revokedTokens.evictExpired();
+
+        RevocationSnapshot snapshot = revokedTokens.snapshot();
+        assertEquals(List.of(new RevocationSnapshot.TokenEpoch(2L, now.minusSeconds(60).toEpochMilli())), snapshot.epochs());
+        assertEquals(List.of(new RevocationSnapshot.RevokedJti("live", now.plusSeconds(60).toEpochMilli())), snapshot.tokens());
+    }
+
+    @Test
+    void feedMessagesAfterSnapshotAreReflectedInNextSnapshot() {
+        Instant now = Instant.now();
+        revokedTokens.load();
+        assertTrue(revokedTokens.snapshot().tokens().isEmpty());
+
+        revokedTokens.add("from-feed", now.plusSeconds(60));
+        revokedTokens.add("from-feed", now.plusSeconds(30));
+        revokedTokens.advanceEpoch(3L, now);
+
+        RevocationSnapshot snapshot = revokedTokens.snapshot();
+        assertEquals(List.of(new RevocationSnapshot.RevokedJti("from-feed", now.plusSeconds(60).toEpochMilli())), snapshot.tokens());
+        assertEquals(List.of(new RevocationSnapshot.TokenEpoch(3L, now.toEpochMilli())), snapshot.epochs());
+    }
+
+    private static ParsedToken token(String jti, Long userId, Instant issuedAt) {
+        return new ParsedToken("token", jti, userId, "player", ParsedToken.ACCESS, issuedAt,
+                issuedAt.plusSeconds(ACCESS_TOKEN_SECONDS), "hash");
+    }
+
+    private static ResultSet row(Map<String, Object> values) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    Object value = values.get((String) args[0]);
+                    return switch (method.getName()) {
+                        case "getString", "getTimestamp" -> value;
+                        case "getLong" -> ((Number) value).longValue();
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+
+    private class FakeJdbcTemplate extends JdbcTemplate {
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler) {
+            replay(tokenRows, handler);
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler, Object... args) {
+            epochQueryArgs.addAll(List.of(args));
+            replay(epochRows, handler);
+        }
+
+        private void replay(List<Map<String, Object>> rows, RowCallbackHandler handler) {
+            try {
+                for (Map<String, Object> values : rows) {
+                    handler.processRow(row(values));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
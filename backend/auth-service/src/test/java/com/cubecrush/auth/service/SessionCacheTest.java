@@ -0,0 +1,216 @@
+package com.cubecrush.auth.service;
+
+import com.cubecrush.auth.model.UserSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SessionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SessionCache(meterRegistry);
+        ReflectionTestUtils.setField(cache, "maxSize", 1000L);
+        ReflectionTestUtils.setField(cache, "refreshTokenExpirationSeconds", 3600L);
+        cache.init();
+        cache.resume();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findsCachedSessionByJtiAndRefreshHash() {
+        UserSession session = session(1L, "jti-1", "refresh-1");
+        cache.put(session, cache.stamp());
+
+        assertSame(session, cache.findLiveByJti("jti-1").orElseThrow());
+        assertSame(session, cache.findLiveByRefreshHash("refresh-1").orElseThrow());
+        assertEquals(1.0, lookups("jti", "hit"));
+        assertEquals(1.0, lookups("refresh_token", "hit"));
+    }
+
+    @Test
+    void missesAreCounted() {
+        assertFalse(cache.findLiveByJti("unknown").isPresent());
+        assertFalse(cache.findLiveByRefreshHash("unknown").isPresent());
+
+        assertEquals(1.0, lookups("jti", "miss"));
+        assertEquals(1.0, lookups("refresh_token", "miss"));
+    }
+
+    @Test
+    void rotatedRefreshHashNoLongerMatches() {
+        cache.put(session(1L, "jti-1", "refresh-old"), cache.stamp());
+        cache.put(session(1L, "jti-1", "refresh-new"), cache.stamp());
+
+        assertFalse(cache.findLiveByRefreshHash("refresh-old").isPresent());
+        assertTrue(cache.findLiveByRefreshHash("refresh-new").isPresent());
+    }
+
+    @Test
+    void revokedOrExpiredSessionsAreNotServed() {
+        UserSession revoked = session(1L, "jti-1", "refresh-1");
+        revoked.setIsRevoked(true);
+        UserSession expired = session(1L, "jti-2", "refresh-2");
+        expired.setRefreshTokenExpiresAt(Instant.now().minusSeconds(1));
+
+        cache.put(revoked, cache.stamp());
+        cache.put(expired, cache.stamp());
+
+        assertFalse(cache.findLiveByJti("jti-1").isPresent());
+        assertFalse(cache.findLiveByJti("jti-2").isPresent());
+    }
+
+    @Test
+    void nothingIsCachedWhileSuspended() {
+        cache.suspend();
+        cache.put(session(1L, "jti-1", "refresh-1"), cache.stamp());
+        cache.resume();
+
+        assertFalse(cache.findLiveByJti("jti-1").isPresent());
+    }
+
+    @Test
+    void resumeDropsEverythingCachedBeforeTheFeedWasLost() {
+        cache.put(session(1L, "jti-1", "refresh-1"), cache.stamp());
+        cache.suspend();
+        cache.resume();
+
+        assertFalse(cache.findLiveByJti("jti-1").isPresent());
+    }
+
+    @Test
+    void invalidateAfterCommitWaitsForCommit() {
+        cache.put(session(1L, "jti-1", "refresh-1"), cache.stamp());
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidateAfterCommit("jti-1");
+        assertTrue(cache.findLiveByJti("jti-1").isPresent());
+
+        commit();
+        assertFalse(cache.findLiveByJti("jti-1").isPresent());
+        assertFalse(cache.findLiveByRefreshHash("refresh-1").isPresent());
+    }
+
+    @Test
+    void invalidateAfterCommitRunsAtOnceOutsideTransaction() {
+        cache.put(session(1L, "jti-1", "refresh-1"), cache.stamp());
+
+        cache.invalidateAfterCommit("jti-1");
+
+        assertFalse(cache.findLiveByJti("jti-1").isPresent());
+    }
+
+    @Test
+    void invalidateUserEvictsOnlyThatUsersSessions() {
+        cache.put(session(1L, "jti-1", "refresh-1"), cache.stamp());
+        cache.put(session(1L, "jti-2", "refresh-2"), cache.stamp());
+        cache.put(session(2L, "jti-3", "refresh-3"), cache.stamp());
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidateUserAfterCommit(1L);
+        assertTrue(cache.findLiveByJti("jti-1").isPresent());
+        commit();
+
+        assertFalse(cache.findLiveByJti("jti-1").isPresent());
+        assertFalse(cache.findLiveByJti("jti-2").isPresent());
+        assertTrue(cache.findLiveByJti("jti-3").isPresent());
+    }
+
+    @Test
+    void readStartedBeforeInvalidationIsNotCached() {
+        long stamp = cache.stamp();
+        UserSession readBeforeRevoke = session(1L, "jti-1", "refresh-1");
+        cache.invalidate("jti-1");
+
+        cache.put(readBeforeRevoke, stamp);
+
+        assertFalse(cache.findLiveByJti("jti-1").isPresent());
+        cache.put(readBeforeRevoke, cache.stamp());
+        assertTrue(cache.findLiveByJti("jti-1").isPresent());
+    }
+
+    @Test
+    void readStartedBeforeUserInvalidationIsNotCached() {
+        long stamp = cache.stamp();
+        cache.invalidateUser(1L);
+
+        cache.put(session(1L, "jti-1", "refresh-1"), stamp);
+
+        assertFalse(cache.findLiveByJti("jti-1").isPresent());
+    }
+
+    @Test
+    void createdSessionIsCachedOnlyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putAfterCommit(session(1L, "jti-1", "refresh-1"));
+        assertFalse(cache.findLiveByJti("jti-1").isPresent());
+        commit();
+        assertTrue(cache.findLiveByJti("jti-1").isPresent());
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putAfterCommit(session(1L, "jti-2", "refresh-2"));
+        TransactionSynchronizationManager.clearSynchronization();
+        assertFalse(cache.findLiveByJti("jti-2").isPresent());
+    }
+
+    @Test
+    void sessionRecreatedAfterRevokeInSameTransactionIsCached() {
+        cache.put(session(1L, "jti-1", "refresh-old"), cache.stamp());
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidateAfterCommit("jti-1");
+        cache.putAfterCommit(session(1L, "jti-1", "refresh-new"));
+        commit();
+
+        Optional<UserSession> cached = cache.findLiveByJti("jti-1");
+        assertEquals("refresh-new", cached.orElseThrow().getRefreshTokenHash());
+        assertFalse(cache.findLiveByRefreshHash("refresh-old").isPresent());
+    }
+
+    private double lookups(String lookup, String result) {
+        return meterRegistry.get("auth.sessions.cache.lookups").tag("lookup", lookup).tag("result", result).counter().count();
+    }
+
+    private static void commit() {
+        try {
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static UserSession session(Long userId, String jti, String refreshHash) {
+        Instant now = Instant.now();
+        return UserSession.builder()
+                .userId(userId)
+                .userNickname("player" + userId)
+                .jti(jti)
+                .refreshTokenHash(refreshHash)
+                .accessTokenExpiresAt(now.plusSeconds(900))
+                .refreshTokenExpiresAt(now.plusSeconds(3600))
+                .createdAt(now)
+                .isRevoked(false)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.cubecrush.benchmarks;
+
+import com.cubecrush.gateway.filter.AuthHeaderFilter;
+import com.cubecrush.gateway.security.RevocationRegistry;
+import com.cubecrush.gateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayAuthBenchmark {
+
+    private JwtUtil jwtUtil;
+    private AuthHeaderFilter authHeaderFilter;
+    private String token;
+    private GatewayFilterChain chain;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = Tokens.jwtUtil();
+        authHeaderFilter = new AuthHeaderFilter(jwtUtil, new RevocationRegistry());
+        token = Tokens.jwtService().issueAccessToken(42L, "player42").token();
+        chain = exchange -> Mono.empty();
+    }
+
+    @Benchmark
+    public Claims getAllClaimsFromToken() {
+        return jwtUtil.getAllClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public ServerWebExchange authHeaderFilter() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/game/stats")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        ServerWebExchange[] forwarded = new ServerWebExchange[1];
+        authHeaderFilter.filter(exchange, next -> {
+            forwarded[0] = next;
+            return chain.filter(next);
+        }).block();
+        return forwarded[0];
+    }
+}
@@ -0,0 +1,56 @@
+package com.cubecrush.benchmarks;
+
+import com.cubecrush.auth.service.JwtService;
+import com.cubecrush.auth.service.ParsedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = Tokens.jwtService();
+        accessToken = jwtService.issueAccessToken(42L, "player42").token();
+        refreshToken = jwtService.issueRefreshToken(42L, "player42").token();
+    }
+
+    @Benchmark
+    public ParsedToken generateAccessToken() {
+        return jwtService.issueAccessToken(42L, "player42");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(accessToken);
+    }
+
+    @Benchmark
+    public String hashToken() {
+        return jwtService.hashToken(refreshToken);
+    }
+}
@@ -0,0 +1,28 @@
+package com.cubecrush.benchmarks;
+
+import com.cubecrush.auth.service.JwtService;
+import com.cubecrush.gateway.util.JwtUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+final class Tokens {
+
+    static final String SECRET = "mySuperSecretKeyForCubeCrushGameThatShouldBeVeryLongAndSecure";
+
+    private Tokens() {
+    }
+
+    static JwtService jwtService() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpirationSeconds", 900L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpirationSeconds", 604800L);
+        jwtService.init();
+        return jwtService;
+    }
+
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        return jwtUtil;
+    }
+}
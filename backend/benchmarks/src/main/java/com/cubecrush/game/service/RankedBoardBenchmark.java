@@ -0,0 +1,81 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.model.TopPlayer;
+import com.cubecrush.game.web.dto.PlayerRank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Lives in the game-service package because RankedBoard is package-private.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RankedBoardBenchmark {
+
+    private static final int MAX_SCORE = 1_000_000;
+    private static final int MAX_IMPROVEMENT = 10_000;
+
+    @Param({"10000", "1000000"})
+    private int players;
+
+    private RankedBoard board;
+    private int[] best;
+    private SplittableRandom random;
+    private LocalDateTime achievedAt;
+
+    // Rebuilt every iteration so the score distribution does not drift upwards across iterations.
+    @Setup(Level.Iteration)
+    public void setUp() {
+        board = new RankedBoard();
+        best = new int[players + 1];
+        random = new SplittableRandom(42);
+        achievedAt = LocalDateTime.now();
+        for (int i = 1; i <= players; i++) {
+            best[i] = random.nextInt(MAX_SCORE);
+            board.offer((long) i, "player" + i, best[i], achievedAt);
+        }
+    }
+
+    // Every offered score beats the player's best, so each call is a real rank update
+    // rather than the early return for a lower score.
+    @Benchmark
+    public boolean offer() {
+        int i = 1 + random.nextInt(players);
+        best[i] += 1 + random.nextInt(MAX_IMPROVEMENT);
+        return board.offer((long) i, "player" + i, best[i], achievedAt);
+    }
+
+    @Benchmark
+    public OptionalInt rankOf() {
+        return board.rankOf(1L + random.nextInt(players));
+    }
+
+    @Benchmark
+    public List<TopPlayer> topPage() {
+        return board.page(null, 50);
+    }
+
+    @Benchmark
+    public Optional<PlayerRank> neighbourhood() {
+        return board.neighbourhood(1L + random.nextInt(players), 5);
+    }
+}
@@ -1,24 +1,38 @@
 package com.cubecrush.game;
 
+import com.cubecrush.game.service.LeaderboardPeriod;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.TimeZone;
+
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 public class GameServiceApplication {
 
 	public static void main(String[] args) {
+		// LocalDateTime values, JDBC binds and the Postgres session zone all follow the default zone,
+		// so it is pinned to the zone of the period windows and score partitions.
+		TimeZone.setDefault(TimeZone.getTimeZone(LeaderboardPeriod.ZONE));
 		SpringApplication.run(GameServiceApplication.class, args);
 	}
 
 	@Bean
 	@LoadBalanced
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public RestTemplate restTemplate(@Value("${game.rest.connect-timeout-ms:1000}") int connectTimeoutMs,
+									 @Value("${game.rest.read-timeout-ms:2000}") int readTimeoutMs) {
+		SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+		factory.setConnectTimeout(connectTimeoutMs);
+		factory.setReadTimeout(readTimeoutMs);
+		return new RestTemplate(factory);
 	}
 
 }
@@ -0,0 +1,34 @@
+package com.cubecrush.game.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Tags every pooled connection with a per-instance {@code application_name}, so change-feed
+ * notifications raised by this instance's own writes can be recognised and skipped.
+ */
+@Component
+public class InstanceOrigin implements BeanPostProcessor {
+
+    private final String id;
+
+    public InstanceOrigin(@Value("${spring.application.name}") String applicationName) {
+        this.id = applicationName + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            dataSource.addDataSourceProperty("ApplicationName", id);
+        }
+        return bean;
+    }
+}
@@ -18,6 +18,7 @@ public class SecurityConfig {
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/api/v1/game/**").permitAll()
+                .requestMatchers("/api/v1/system/game/**").permitAll()
                 .anyRequest().authenticated()
             );
         return http.build();
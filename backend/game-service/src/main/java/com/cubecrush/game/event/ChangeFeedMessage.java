@@ -0,0 +1,17 @@
+package com.cubecrush.game.event;
+
+import java.time.LocalDateTime;
+
+public record ChangeFeedMessage(
+        String type,
+        Long scoreId,
+        Long userId,
+        Integer score,
+        LocalDateTime achievedAt,
+        String nickname,
+        String origin
+) {
+    public static final String SCORE = "score";
+    public static final String NICKNAME = "nickname";
+    public static final String RELOAD = "reload";
+}
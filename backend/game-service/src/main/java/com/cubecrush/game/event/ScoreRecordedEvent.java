@@ -0,0 +1,10 @@
+package com.cubecrush.game.event;
+
+import java.time.LocalDateTime;
+
+public record ScoreRecordedEvent(
+        Long scoreId,
+        Long userId,
+        int score,
+        LocalDateTime achievedAt
+) {}
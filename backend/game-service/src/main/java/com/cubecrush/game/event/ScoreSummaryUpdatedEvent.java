@@ -0,0 +1,11 @@
+package com.cubecrush.game.event;
+
+import java.time.LocalDateTime;
+
+public record ScoreSummaryUpdatedEvent(
+        Long userId,
+        long gamesPlayed,
+        long scoreSum,
+        int bestScore,
+        LocalDateTime bestScoreAchievedAt
+) {}
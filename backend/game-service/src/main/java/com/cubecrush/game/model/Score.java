@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 @Data
 public class Score {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scores_id_seq")
+    @SequenceGenerator(name = "scores_id_seq", sequenceName = "scores_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -0,0 +1,33 @@
+package com.cubecrush.game.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_score_summary")
+@Data
+public class UserScoreSummary {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "games_played", nullable = false)
+    private Long gamesPlayed;
+
+    @Column(name = "score_sum", nullable = false)
+    private Long scoreSum;
+
+    @Column(name = "best_score", nullable = false)
+    private Integer bestScore;
+
+    @Column(name = "best_score_achieved_at")
+    private LocalDateTime bestScoreAchievedAt;
+
+    @Column(name = "last_played_at")
+    private LocalDateTime lastPlayedAt;
+}
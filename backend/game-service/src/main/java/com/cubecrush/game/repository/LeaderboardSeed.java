@@ -0,0 +1,6 @@
+package com.cubecrush.game.repository;
+
+import java.time.LocalDateTime;
+
+public record LeaderboardSeed(Long userId, Integer score, LocalDateTime achievedAt) {
+}
@@ -1,12 +1,60 @@
 package com.cubecrush.game.repository;
 
 import com.cubecrush.game.model.Score;
+import com.cubecrush.game.web.dto.ScoreHistoryEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ScoreRepository extends JpaRepository<Score, Long> {
-    List<Score> findByUserIdOrderByAchievedAtDesc(Long userId);
+    @Query("""
+            SELECT new com.cubecrush.game.web.dto.ScoreHistoryEntry(s.id, s.score, s.achievedAt)
+            FROM Score s
+            WHERE s.userId = :userId
+            ORDER BY s.achievedAt DESC, s.id DESC
+            """)
+    List<ScoreHistoryEntry> findHistory(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            SELECT new com.cubecrush.game.web.dto.ScoreHistoryEntry(s.id, s.score, s.achievedAt)
+            FROM Score s
+            WHERE s.userId = :userId
+              AND s.achievedAt <= :achievedAt AND (s.achievedAt < :achievedAt OR s.id < :id)
+            ORDER BY s.achievedAt DESC, s.id DESC
+            """)
+    List<ScoreHistoryEntry> findHistoryAfter(@Param("userId") Long userId, @Param("achievedAt") LocalDateTime achievedAt,
+                                             @Param("id") long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new com.cubecrush.game.web.dto.ScoreHistoryEntry(s.id, s.score, s.achievedAt)
+            FROM Score s
+            WHERE s.userId = :userId
+            ORDER BY s.achievedAt DESC, s.id DESC
+            """)
+    Stream<ScoreHistoryEntry> streamHistory(@Param("userId") Long userId);
+
+    @Query(value = "SELECT u.nickname FROM users u WHERE u.id = :userId", nativeQuery = true)
+    Optional<String> findNicknameByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            SELECT new com.cubecrush.game.repository.LeaderboardSeed(s.userId, s.score, s.achievedAt)
+            FROM Score s
+            WHERE s.achievedAt >= :from
+              AND MOD(s.userId, :shardCount) = :shardIndex
+              AND s.score = (SELECT MAX(b.score) FROM Score b WHERE b.userId = s.userId AND b.achievedAt >= :from)
+            """)
+    List<LeaderboardSeed> findBestScoresSince(@Param("from") LocalDateTime from,
+                                              @Param("shardCount") int shardCount, @Param("shardIndex") int shardIndex);
 }
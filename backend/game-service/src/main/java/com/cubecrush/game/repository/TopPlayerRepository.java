@@ -1,12 +1,25 @@
 package com.cubecrush.game.repository;
 
 import com.cubecrush.game.model.TopPlayer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface TopPlayerRepository extends JpaRepository<TopPlayer, Long> {
-    List<TopPlayer> findAllByOrderByScoreDesc();
+    List<TopPlayer> findAllByOrderByScoreDescIdAsc(Pageable pageable);
+
+    @Query("""
+            SELECT t FROM TopPlayer t
+            WHERE t.score <= :score AND (t.score < :score OR t.id > :id)
+            ORDER BY t.score DESC, t.id ASC
+            """)
+    List<TopPlayer> findPageAfter(@Param("score") int score, @Param("id") long id, Pageable pageable);
+
+    @Query("SELECT t FROM TopPlayer t WHERE MOD(t.id, :shardCount) = :shardIndex")
+    List<TopPlayer> findShard(@Param("shardCount") int shardCount, @Param("shardIndex") int shardIndex);
 }
@@ -0,0 +1,38 @@
+package com.cubecrush.game.repository;
+
+import com.cubecrush.game.model.UserScoreSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserScoreSummaryRepository extends JpaRepository<UserScoreSummary, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_score_summary AS s
+                (user_id, games_played, score_sum, best_score, best_score_achieved_at, last_played_at)
+            VALUES (:userId, :gamesPlayed, :scoreSum, :bestScore, :bestScoreAchievedAt, :lastPlayedAt)
+            ON CONFLICT (user_id) DO UPDATE SET
+                games_played = s.games_played + EXCLUDED.games_played,
+                score_sum = s.score_sum + EXCLUDED.score_sum,
+                best_score = GREATEST(s.best_score, EXCLUDED.best_score),
+                best_score_achieved_at = CASE
+                    WHEN EXCLUDED.best_score > s.best_score THEN EXCLUDED.best_score_achieved_at
+                    WHEN EXCLUDED.best_score = s.best_score
+                        THEN GREATEST(s.best_score_achieved_at, EXCLUDED.best_score_achieved_at)
+                    ELSE s.best_score_achieved_at
+                END,
+                last_played_at = GREATEST(s.last_played_at, EXCLUDED.last_played_at)
+            """, nativeQuery = true)
+    int mergeScores(@Param("userId") Long userId,
+                    @Param("gamesPlayed") long gamesPlayed,
+                    @Param("scoreSum") long scoreSum,
+                    @Param("bestScore") int bestScore,
+                    @Param("bestScoreAchievedAt") LocalDateTime bestScoreAchievedAt,
+                    @Param("lastPlayedAt") LocalDateTime lastPlayedAt);
+}
@@ -0,0 +1,205 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.config.InstanceOrigin;
+import com.cubecrush.game.event.ChangeFeedMessage;
+import com.cubecrush.game.event.ScoreRecordedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Follows the {@code game_changes} channel that the database triggers on {@code scores} and
+ * {@code users} notify, and applies writes made through other instances to the local caches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeFeedListener {
+
+    static final String CHANNEL = "game_changes";
+
+    private final InstanceOrigin instanceOrigin;
+    private final ObjectMapper objectMapper;
+    private final GameService gameService;
+    private final LeaderboardIndex leaderboardIndex;
+    private final PeriodLeaderboards periodLeaderboards;
+    private final ScoreDistribution scoreDistribution;
+    private final UserStatsCache userStatsCache;
+    private final NicknameCache nicknameCache;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${game.change-feed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${game.change-feed.poll-timeout-ms:500}")
+    private int pollTimeoutMs;
+
+    @Value("${game.change-feed.reconnect-delay-ms:1000}")
+    private long reconnectDelayMs;
+
+    /**
+     * Runs before the caches are seeded and subscribes synchronously, so no change committed
+     * after seeding can be missed. If the database is unreachable here, the background thread
+     * keeps retrying and reloads everything once it is subscribed.
+     */
+    @Order(-1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Connection initial = null;
+        try {
+            initial = listen();
+        } catch (SQLException e) {
+            log.warn("Change feed unavailable at startup, retrying in the background: {}", e.getMessage());
+        }
+        Connection connection = initial;
+        thread = new Thread(() -> run(connection), "change-feed");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run(Connection initial) {
+        Connection connection = initial;
+        while (running) {
+            try {
+                if (connection == null) {
+                    connection = listen();
+                    resync();
+                }
+                log.info("Listening for change feed on {} as {}", CHANNEL, instanceOrigin.id());
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                close(connection);
+                connection = null;
+                if (!running) {
+                    return;
+                }
+                log.warn("Change feed connection lost, reconnecting in {}ms: {}", reconnectDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        close(connection);
+    }
+
+    private Connection listen() throws SQLException {
+        Connection connection = connect();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        } catch (SQLException e) {
+            close(connection);
+            throw e;
+        }
+        return connection;
+    }
+
+    private static void close(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close change feed connection: {}", e.getMessage());
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("ApplicationName", instanceOrigin.id() + "-feed");
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private void handle(String payload) {
+        try {
+            ChangeFeedMessage message = objectMapper.readValue(payload, ChangeFeedMessage.class);
+            switch (message.type()) {
+                case ChangeFeedMessage.SCORE -> onScore(message);
+                case ChangeFeedMessage.NICKNAME -> gameService.renameUser(message.userId(), message.nickname());
+                case ChangeFeedMessage.RELOAD -> reload();
+                default -> log.debug("Ignoring change feed message of type {}", message.type());
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply change feed message {}", payload, e);
+        }
+    }
+
+    private void onScore(ChangeFeedMessage message) {
+        if (instanceOrigin.id().equals(message.origin())) {
+            return;
+        }
+        ScoreRecordedEvent event = new ScoreRecordedEvent(message.scoreId(), message.userId(), message.score(), message.achievedAt());
+        leaderboardIndex.onScoreRecorded(event);
+        periodLeaderboards.onScoreRecorded(event);
+        scoreDistribution.onScoreRecorded(event);
+        userStatsCache.invalidate(message.userId());
+    }
+
+    private void reload() {
+        long startTime = System.currentTimeMillis();
+        leaderboardIndex.load();
+        periodLeaderboards.reseed();
+        scoreDistribution.load();
+        userStatsCache.invalidateAll();
+        log.info("Reloaded leaderboards and distribution in {}ms", System.currentTimeMillis() - startTime);
+    }
+
+    private void resync() {
+        // Notifications sent while unsubscribed are lost; rebuild everything derived from them.
+        nicknameCache.invalidateAll();
+        reload();
+        log.warn("Change feed subscribed after a gap; caches reloaded");
+    }
+}
@@ -6,19 +6,28 @@ import com.cubecrush.game.model.TopPlayer;
 import com.cubecrush.game.model.UserStats;
 import com.cubecrush.game.repository.ScoreRepository;
 import com.cubecrush.game.repository.TopPlayerRepository;
-import com.cubecrush.game.repository.UserStatsRepository;
-import lombok.Data;
+import com.cubecrush.game.web.ScoreBatchRequest;
+import com.cubecrush.game.web.dto.HistoryPage;
+import com.cubecrush.game.web.dto.LeaderboardPage;
+import com.cubecrush.game.web.dto.LeaderboardSnapshot;
+import com.cubecrush.game.web.dto.PlayerRank;
+import com.cubecrush.game.web.dto.ScoreDistributionView;
+import com.cubecrush.game.web.dto.ScoreHistoryEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,66 +35,184 @@ public class GameService {
 
     private final ScoreRepository scoreRepository;
     private final TopPlayerRepository topPlayerRepository;
-    private final UserStatsRepository userStatsRepository;
-    private final RestTemplate restTemplate;
+    private final LeaderboardIndex leaderboardIndex;
+    private final PeriodLeaderboards periodLeaderboards;
+    private final LeaderboardSnapshots leaderboardSnapshots;
+    private final ScoreWriter scoreWriter;
+    private final ScoreWriteBuffer scoreWriteBuffer;
+    private final ScoreIdempotency scoreIdempotency;
+    private final UserStatsCache userStatsCache;
+    private final NicknameCache nicknameCache;
+    private final ScoreDistribution scoreDistribution;
+    private final ShardRouter shardRouter;
+    private final ShardedLeaderboard shardedLeaderboard;
+    private final ObjectMapper objectMapper;
 
-    @Transactional
-    public Score submitScore(Long userId, Integer scoreValue) {
+    @Value("${game.leaderboard.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${game.leaderboard.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${game.history.default-page-size:100}")
+    private int defaultHistoryPageSize;
+
+    @Value("${game.history.max-page-size:500}")
+    private int maxHistoryPageSize;
+
+    @Value("${game.leaderboard.rank.default-window:5}")
+    private int defaultRankWindow;
+
+    @Value("${game.leaderboard.rank.max-window:25}")
+    private int maxRankWindow;
+
+    public Score submitScore(Long userId, Integer scoreValue, String idempotencyKey) {
         if (scoreValue < 0) {
             throw new GameException("GAME_INVALID_SCORE", HttpStatus.BAD_REQUEST);
         }
         Score score = new Score();
         score.setUserId(userId);
         score.setScore(scoreValue);
-        return scoreRepository.save(score);
+
+        if (idempotencyKey != null) {
+            return scoreIdempotency.submit(idempotencyKey, score);
+        }
+        if (!scoreWriteBuffer.isEnabled()) {
+            return scoreWriter.write(List.of(score)).get(0);
+        }
+        try {
+            return scoreWriteBuffer.submit(score).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
-    public List<TopPlayer> getTopPlayers() {
-        return topPlayerRepository.findAllByOrderByScoreDesc();
+    public List<Score> submitScores(Long userId, List<ScoreBatchRequest.Entry> entries) {
+        List<Score> scores = entries.stream()
+                .map(entry -> {
+                    Score score = new Score();
+                    score.setUserId(userId);
+                    score.setScore(entry.getScore());
+                    score.setAchievedAt(entry.getAchievedAt());
+                    return score;
+                })
+                .toList();
+        return scoreWriter.write(scores);
+    }
+
+    public LeaderboardPage getTopPlayers(String period, Integer limit, String cursor) {
+        LeaderboardPeriod leaderboardPeriod = LeaderboardPeriod.from(period);
+        int pageSize = resolvePageSize(limit);
+        LeaderboardCursor after = cursor == null || cursor.isBlank() ? null : LeaderboardCursor.decode(cursor);
+
+        List<TopPlayer> players;
+        if (shardRouter.isSharded()) {
+            players = shardedLeaderboard.top(leaderboardPeriod, cursor, pageSize);
+        } else if (leaderboardPeriod.isWindowed()) {
+            players = periodBoard(leaderboardPeriod).page(after, pageSize);
+        } else if (leaderboardIndex.isReady()) {
+            players = leaderboardIndex.page(after, pageSize);
+        } else if (after == null) {
+            players = topPlayerRepository.findAllByOrderByScoreDescIdAsc(PageRequest.of(0, pageSize));
+        } else {
+            players = topPlayerRepository.findPageAfter(after.score(), after.userId(), PageRequest.of(0, pageSize));
+        }
+
+        return new LeaderboardPage(players, LeaderboardCursor.next(players, pageSize));
+    }
+
+    public Optional<LeaderboardSnapshot> getTopSnapshot(String period) {
+        LeaderboardPeriod leaderboardPeriod = LeaderboardPeriod.from(period);
+        if (shardRouter.isSharded()) {
+            return Optional.empty();
+        }
+        return periodLeaderboards.board(leaderboardPeriod)
+                .map(board -> leaderboardSnapshots.snapshot(leaderboardPeriod, board, defaultPageSize));
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new GameException("GAME_INVALID_PAGE_SIZE", HttpStatus.BAD_REQUEST);
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    public PlayerRank getPlayerRank(Long userId, String period, Integer window) {
+        LeaderboardPeriod leaderboardPeriod = LeaderboardPeriod.from(period);
+        int neighbours = window == null ? defaultRankWindow : Math.max(0, Math.min(window, maxRankWindow));
+
+        Optional<PlayerRank> rank;
+        if (shardRouter.isSharded()) {
+            rank = shardedLeaderboard.rank(leaderboardPeriod, userId, neighbours);
+        } else if (leaderboardPeriod.isWindowed()) {
+            rank = periodBoard(leaderboardPeriod).neighbourhood(userId, neighbours);
+        } else if (leaderboardIndex.isReady()) {
+            rank = leaderboardIndex.neighbourhood(userId, neighbours);
+        } else {
+            throw new GameException("GAME_LEADERBOARD_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return rank.orElseThrow(() -> new GameException("GAME_PLAYER_NOT_RANKED", HttpStatus.NOT_FOUND));
+    }
+
+    private RankedBoard periodBoard(LeaderboardPeriod period) {
+        return periodLeaderboards.board(period)
+                .orElseThrow(() -> new GameException("GAME_LEADERBOARD_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    public ScoreDistributionView getDistribution(Integer score) {
+        return shardRouter.isSharded() ? shardedLeaderboard.distribution(score) : scoreDistribution.view(score);
     }
 
     public UserStats getUserStats(Long userId) {
-        UserStats stats = userStatsRepository.findById(userId)
-                .orElseGet(() -> {
-                    UserStats emptyStats = new UserStats();
-                    emptyStats.setId(userId);
-                    emptyStats.setGamesPlayed(0L);
-                    emptyStats.setBestScore(null);
-                    emptyStats.setAverageScore(null);
-                    emptyStats.setBestScoreAchievedAt(null);
-                    return emptyStats;
-                });
+        UserStats stats = userStatsCache.get(userId);
 
         if (stats.getNickname() == null) {
-            try {
-                HttpHeaders headers = new HttpHeaders();
-                headers.set("X-User-Id", String.valueOf(userId));
-                HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-                ResponseEntity<UserProfileDto> response = restTemplate.exchange(
-                        "http://user-service/api/v1/users/me",
-                        HttpMethod.GET,
-                        entity,
-                        UserProfileDto.class
-                );
-
-                if (response.getBody() != null) {
-                    stats.setNickname(response.getBody().getNickname());
-                }
-            } catch (Exception e) {
-                System.err.println("Failed to fetch nickname for user " + userId + ": " + e.getMessage());
-            }
+            stats.setNickname(nicknameCache.get(userId));
         }
         return stats;
     }
 
-    public List<Score> getUserHistory(Long userId) {
-        return scoreRepository.findByUserIdOrderByAchievedAtDesc(userId);
+    public void renameUser(Long userId, String nickname) {
+        nicknameCache.put(userId, nickname);
+        userStatsCache.rename(userId, nickname);
+        periodLeaderboards.rename(userId, nickname);
+    }
+
+    public HistoryPage getUserHistory(Long userId, Integer limit, String cursor) {
+        int pageSize = resolveHistoryPageSize(limit);
+        HistoryCursor after = cursor == null || cursor.isBlank() ? null : HistoryCursor.decode(cursor);
+
+        List<ScoreHistoryEntry> entries = after == null
+                ? scoreRepository.findHistory(userId, PageRequest.of(0, pageSize))
+                : scoreRepository.findHistoryAfter(userId, after.achievedAt(), after.id(), PageRequest.of(0, pageSize));
+        return new HistoryPage(entries, HistoryCursor.next(entries, pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamUserHistory(Long userId, OutputStream output) throws IOException {
+        try (Stream<ScoreHistoryEntry> entries = scoreRepository.streamHistory(userId)) {
+            Iterator<ScoreHistoryEntry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                output.write(objectMapper.writeValueAsBytes(iterator.next()));
+                output.write('\n');
+            }
+        }
+        output.flush();
     }
 
-    @Data
-    private static class UserProfileDto {
-        private Long id;
-        private String nickname;
+    private int resolveHistoryPageSize(Integer limit) {
+        if (limit == null) {
+            return defaultHistoryPageSize;
+        }
+        if (limit < 1) {
+            throw new GameException("GAME_INVALID_PAGE_SIZE", HttpStatus.BAD_REQUEST);
+        }
+        return Math.min(limit, maxHistoryPageSize);
     }
 }
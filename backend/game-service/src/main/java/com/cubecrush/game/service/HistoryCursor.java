@@ -0,0 +1,38 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.web.dto.ScoreHistoryEntry;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+public record HistoryCursor(LocalDateTime achievedAt, long id) {
+
+    public static HistoryCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new HistoryCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new GameException("GAME_INVALID_CURSOR", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public static String next(List<ScoreHistoryEntry> page, int pageSize) {
+        if (page.size() < pageSize) {
+            return null;
+        }
+        ScoreHistoryEntry last = page.get(page.size() - 1);
+        return new HistoryCursor(last.achievedAt(), last.id()).encode();
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((achievedAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,37 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.model.TopPlayer;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+public record LeaderboardCursor(int score, long userId) {
+
+    public static LeaderboardCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new LeaderboardCursor(
+                    Integer.parseInt(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new GameException("GAME_INVALID_CURSOR", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public static String next(List<TopPlayer> page, int pageSize) {
+        if (page.size() < pageSize) {
+            return null;
+        }
+        TopPlayer last = page.get(page.size() - 1);
+        return new LeaderboardCursor(last.getScore(), last.getId()).encode();
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((score + ":" + userId).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,95 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.event.ScoreRecordedEvent;
+import com.cubecrush.game.model.TopPlayer;
+import com.cubecrush.game.repository.ScoreRepository;
+import com.cubecrush.game.repository.TopPlayerRepository;
+import com.cubecrush.game.web.dto.PlayerRank;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderboardIndex {
+
+    private final ScoreRepository scoreRepository;
+    private final TopPlayerRepository topPlayerRepository;
+    private final ScoreDistribution scoreDistribution;
+    private final ShardRouter shardRouter;
+
+    private RankedBoard board;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        board = new RankedBoard(scoreDistribution::bestScoreChanged);
+    }
+
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startTime = System.currentTimeMillis();
+        List<TopPlayer> seeds = shardRouter.isSharded()
+                ? topPlayerRepository.findShard(shardRouter.count(), shardRouter.index())
+                : topPlayerRepository.findAll();
+        for (TopPlayer seed : seeds) {
+            board.offer(seed.getId(), seed.getNickname(), seed.getScore(), seed.getAchievedAt());
+        }
+        ready = true;
+        log.info("Leaderboard index loaded with {} players in {}ms", seeds.size(), System.currentTimeMillis() - startTime);
+    }
+
+    @TransactionalEventListener
+    public void onScoreRecorded(ScoreRecordedEvent event) {
+        if (!shardRouter.owns(event.userId())) {
+            return;
+        }
+        Optional<TopPlayer> current = board.find(event.userId());
+        if (current.isPresent() && current.get().getScore() >= event.score()) {
+            return;
+        }
+        String nickname = current.map(TopPlayer::getNickname).orElseGet(() -> nicknameOf(event.userId()));
+        board.offer(event.userId(), nickname, event.score(), event.achievedAt());
+    }
+
+    public String nicknameOf(Long userId) {
+        return board.find(userId)
+                .map(TopPlayer::getNickname)
+                .orElseGet(() -> scoreRepository.findNicknameByUserId(userId).orElse(null));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return board.size();
+    }
+
+    RankedBoard board() {
+        return board;
+    }
+
+    public List<TopPlayer> page(LeaderboardCursor after, int limit) {
+        return board.page(after, limit);
+    }
+
+    public OptionalInt rankOf(Long userId) {
+        return board.rankOf(userId);
+    }
+
+    public Optional<PlayerRank> neighbourhood(Long userId, int window) {
+        return board.neighbourhood(userId, window);
+    }
+}
@@ -0,0 +1,61 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import org.springframework.http.HttpStatus;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+public enum LeaderboardPeriod {
+    ALL_TIME,
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /** Windows start at midnight in this zone, which is also the zone of the monthly score partitions. */
+    public static final ZoneId ZONE = ZoneOffset.UTC;
+
+    public static LocalDateTime now() {
+        return LocalDateTime.now(ZONE);
+    }
+
+    public boolean isWindowed() {
+        return this != ALL_TIME;
+    }
+
+    public LocalDateTime windowStart(LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        return switch (this) {
+            case DAILY -> today.atStartOfDay();
+            case WEEKLY -> today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            case MONTHLY -> today.withDayOfMonth(1).atStartOfDay();
+            case ALL_TIME -> throw new IllegalStateException("All-time leaderboard has no window");
+        };
+    }
+
+    public LocalDateTime nextWindowStart(LocalDateTime now) {
+        LocalDateTime start = windowStart(now);
+        return switch (this) {
+            case DAILY -> start.plusDays(1);
+            case WEEKLY -> start.plusWeeks(1);
+            case MONTHLY -> start.plusMonths(1);
+            case ALL_TIME -> throw new IllegalStateException("All-time leaderboard has no window");
+        };
+    }
+
+    public static LeaderboardPeriod from(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL_TIME;
+        }
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new GameException("GAME_INVALID_PERIOD", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.model.TopPlayer;
+import com.cubecrush.game.web.dto.LeaderboardSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+@RequiredArgsConstructor
+public class LeaderboardSnapshots {
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<LeaderboardPeriod, Cached> snapshots = new ConcurrentHashMap<>();
+
+    @Value("${game.leaderboard.snapshot.min-rebuild-interval-ms:200}")
+    private long minRebuildIntervalMs;
+
+    LeaderboardSnapshot snapshot(LeaderboardPeriod period, RankedBoard board, int size) {
+        Cached cached = snapshots.get(period);
+        if (isFresh(cached, board, size)) {
+            return cached.snapshot();
+        }
+        synchronized (this) {
+            cached = snapshots.get(period);
+            if (isFresh(cached, board, size)) {
+                return cached.snapshot();
+            }
+            long version = board.version();
+            List<TopPlayer> players = board.page(null, size);
+            byte[] json = encode(players);
+            LeaderboardSnapshot snapshot = new LeaderboardSnapshot(
+                    "\"" + EPOCH + "-" + version + "\"",
+                    json,
+                    gzip(json),
+                    LeaderboardCursor.next(players, size));
+            snapshots.put(period, new Cached(version, size, System.currentTimeMillis(), snapshot));
+            return snapshot;
+        }
+    }
+
+    private boolean isFresh(Cached cached, RankedBoard board, int size) {
+        return cached != null && cached.size() == size
+                && (cached.version() == board.version()
+                || System.currentTimeMillis() - cached.builtAt() < minRebuildIntervalMs);
+    }
+
+    private byte[] encode(List<TopPlayer> players) {
+        try {
+            return objectMapper.writeValueAsBytes(players);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize leaderboard snapshot", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private record Cached(long version, int size, long builtAt, LeaderboardSnapshot snapshot) {
+    }
+}
@@ -0,0 +1,388 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.model.TopPlayer;
+import com.cubecrush.game.web.dto.LeaderboardDelta;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderboardStream {
+
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String DELTA_EVENT = "delta";
+
+    private final PeriodLeaderboards periodLeaderboards;
+    private final ShardedLeaderboard shardedLeaderboard;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    private final Map<LeaderboardPeriod, Channel> channels = new EnumMap<>(LeaderboardPeriod.class);
+    private ScheduledExecutorService ticker;
+    private ThreadPoolExecutor sender;
+
+    @Value("${game.leaderboard.default-page-size:50}")
+    private int topSize;
+
+    @Value("${game.leaderboard.stream.tick-ms:250}")
+    private long tickMs;
+
+    @Value("${game.leaderboard.stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${game.leaderboard.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${game.leaderboard.stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${game.leaderboard.stream.sender-queue-capacity:65536}")
+    private int senderQueueCapacity;
+
+    @Value("${game.leaderboard.stream.subscriber-queue-capacity:32}")
+    private int subscriberQueueCapacity;
+
+    @Value("${game.leaderboard.stream.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @PostConstruct
+    public void start() {
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            channels.put(period, new Channel());
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("leaderboard-stream"));
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(senderQueueCapacity), daemonThreads("leaderboard-stream-sender"));
+        ticker.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        sender.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.close(null)));
+    }
+
+    public SseEmitter subscribe(LeaderboardPeriod period) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Channel channel = channels.get(period);
+        Subscriber subscriber = new Subscriber(channel, emitter);
+        emitter.onCompletion(() -> channel.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> channel.subscribers.remove(subscriber));
+        emitter.onError(error -> channel.subscribers.remove(subscriber));
+
+        Optional<ShardedTop> fetched = fetchSharded(period, channel);
+        synchronized (channel) {
+            broadcastDelta(channel, refresh(period, channel, fetched));
+            channel.subscribers.add(subscriber);
+            subscriber.offer(SseEmitter.event().name(SNAPSHOT_EVENT).data(channel.snapshotJson).build());
+        }
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return channels.values().stream().mapToInt(channel -> channel.subscribers.size()).sum();
+    }
+
+    private void tick() {
+        long stalledBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        channels.forEach((period, channel) -> {
+            channel.subscribers.forEach(subscriber -> {
+                if (subscriber.stalledSince(stalledBefore)) {
+                    subscriber.close(new IOException("Leaderboard stream send timed out"));
+                }
+            });
+            if (shardRouter.isSharded() && channel.subscribers.isEmpty()) {
+                return;
+            }
+            try {
+                Optional<ShardedTop> fetched = fetchSharded(period, channel);
+                synchronized (channel) {
+                    broadcastDelta(channel, refresh(period, channel, fetched));
+                }
+            } catch (RuntimeException e) {
+                log.error("Leaderboard stream tick failed for {}", period, e);
+            }
+        });
+    }
+
+    private void heartbeat() {
+        channels.values().forEach(channel -> {
+            synchronized (channel) {
+                broadcast(channel, SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    /**
+     * The sharded top page is fetched over the network, so it is read before the channel lock is
+     * taken. Fetches are numbered when they start, and one that finishes after a newer fetch has
+     * been published is dropped.
+     */
+    private Optional<ShardedTop> fetchSharded(LeaderboardPeriod period, Channel channel) {
+        if (!shardRouter.isSharded()) {
+            return Optional.empty();
+        }
+        long sequence = channel.fetches.incrementAndGet();
+        return Optional.of(new ShardedTop(sequence, shardedLeaderboard.top(period, null, topSize)));
+    }
+
+    private Optional<String> refresh(LeaderboardPeriod period, Channel channel, Optional<ShardedTop> fetched) {
+        if (fetched.isPresent()) {
+            ShardedTop top = fetched.get();
+            if (top.sequence() < channel.published) {
+                return Optional.empty();
+            }
+            channel.published = top.sequence();
+            return publish(channel, top.players());
+        }
+        Optional<RankedBoard> board = periodLeaderboards.board(period);
+        if (board.isEmpty()) {
+            return Optional.empty();
+        }
+        RankedBoard current = board.get();
+        long version = current.version();
+        if (current == channel.board && version == channel.version) {
+            return Optional.empty();
+        }
+
+        channel.board = current;
+        channel.version = version;
+        return publish(channel, current.page(null, topSize));
+    }
+
+    private Optional<String> publish(Channel channel, List<TopPlayer> top) {
+        LeaderboardDelta delta = diff(channel.top, top);
+        channel.top = top;
+        channel.snapshotJson = encode(top);
+        if (delta.changed().isEmpty() && delta.removed().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(encode(delta));
+    }
+
+    private static LeaderboardDelta diff(List<TopPlayer> previous, List<TopPlayer> current) {
+        Map<Long, Integer> previousRanks = new HashMap<>();
+        Map<Long, Integer> previousScores = new HashMap<>();
+        for (int i = 0; i < previous.size(); i++) {
+            previousRanks.put(previous.get(i).getId(), i + 1);
+            previousScores.put(previous.get(i).getId(), previous.get(i).getScore());
+        }
+
+        List<LeaderboardDelta.RankChange> changed = new ArrayList<>();
+        Set<Long> present = new HashSet<>();
+        for (int i = 0; i < current.size(); i++) {
+            TopPlayer player = current.get(i);
+            present.add(player.getId());
+            if (!Integer.valueOf(i + 1).equals(previousRanks.get(player.getId()))
+                    || !player.getScore().equals(previousScores.get(player.getId()))) {
+                changed.add(new LeaderboardDelta.RankChange(i + 1, player.getId(), player.getNickname(), player.getScore()));
+            }
+        }
+
+        List<Long> removed = previous.stream()
+                .map(TopPlayer::getId)
+                .filter(id -> !present.contains(id))
+                .toList();
+        return new LeaderboardDelta(changed, removed);
+    }
+
+    private void broadcastDelta(Channel channel, Optional<String> delta) {
+        if (delta.isPresent() && !channel.subscribers.isEmpty()) {
+            broadcast(channel, SseEmitter.event().name(DELTA_EVENT).data(delta.get()));
+        }
+    }
+
+    private void broadcast(Channel channel, SseEmitter.SseEventBuilder event) {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = event.build();
+        for (Subscriber subscriber : channel.subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private String encode(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize leaderboard stream event", e);
+        }
+    }
+
+    /**
+     * Frames are queued per subscriber and written by the sender pool, so a slow client
+     * only fills its own queue. Overflowing the queue or stalling a write past the send
+     * timeout closes that subscriber. A subscriber closed mid-write is completed by the
+     * sender once the write returns, so no other thread waits on its socket. The write
+     * itself is cut off by the connector's write timeout ({@code server.tomcat.connection-timeout}),
+     * which bounds how long a client stuck in TCP can hold a sender thread.
+     */
+    private final class Subscriber implements Runnable {
+        private final Channel channel;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> frames = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean sending;
+        private boolean closed;
+        private Throwable closeCause;
+        private volatile long sendingSince;
+
+        private Subscriber(Channel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            boolean overflow;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                overflow = frames.size() >= subscriberQueueCapacity;
+                if (!overflow) {
+                    frames.add(frame);
+                    if (scheduled) {
+                        return;
+                    }
+                    scheduled = true;
+                }
+            }
+            if (overflow) {
+                close(new IOException("Leaderboard stream subscriber queue overflowed"));
+                return;
+            }
+            try {
+                sender.execute(this);
+            } catch (RejectedExecutionException e) {
+                close(new IOException("Leaderboard stream sender is saturated", e));
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                synchronized (this) {
+                    frame = closed ? null : frames.poll();
+                    if (frame == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    sending = true;
+                }
+                sendingSince = System.nanoTime();
+                Throwable failure = null;
+                try {
+                    emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    failure = e;
+                }
+                sendingSince = 0;
+                boolean closedMeanwhile;
+                synchronized (this) {
+                    sending = false;
+                    closedMeanwhile = closed;
+                    if (failure != null && !closed) {
+                        closed = true;
+                        closeCause = failure;
+                    }
+                    if (closed) {
+                        scheduled = false;
+                    }
+                }
+                if (failure != null || closedMeanwhile) {
+                    finish();
+                    return;
+                }
+            }
+        }
+
+        boolean stalledSince(long nanos) {
+            long since = sendingSince;
+            return since != 0 && since - nanos < 0;
+        }
+
+        void close(Throwable cause) {
+            boolean idle;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                closeCause = cause;
+                idle = !sending;
+            }
+            channel.subscribers.remove(this);
+            if (idle) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            Throwable cause;
+            synchronized (this) {
+                frames.clear();
+                cause = closeCause;
+            }
+            channel.subscribers.remove(this);
+            if (cause == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(cause);
+            }
+        }
+    }
+
+    private record ShardedTop(long sequence, List<TopPlayer> players) {
+    }
+
+    private static final class Channel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicLong fetches = new AtomicLong();
+        private long published;
+        private RankedBoard board;
+        private long version;
+        private List<TopPlayer> top = List.of();
+        private String snapshotJson = "[]";
+    }
+}
@@ -0,0 +1,100 @@
+package com.cubecrush.game.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NicknameCache {
+
+    private static final String USER_SERVICE = "http://user-service/api/v1/system/users";
+
+    private final RestTemplate restTemplate;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private Cache<Long, String> cache;
+
+    @Value("${game.nickname.cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${game.nickname.cache.expire-after-write-ms:600000}")
+    private long expireAfterWriteMs;
+
+    @Value("${game.nickname.cache.batch-size:500}")
+    private int batchSize;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .build();
+    }
+
+    public String get(Long userId) {
+        String nickname = cache.getIfPresent(userId);
+        if (nickname == null) {
+            pending.add(userId);
+        }
+        return nickname;
+    }
+
+    public void put(Long userId, String nickname) {
+        cache.put(userId, nickname);
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Scheduled(fixedDelayString = "${game.nickname.cache.fetch-interval-ms:200}")
+    public void fetchPending() {
+        while (!pending.isEmpty()) {
+            List<Long> batch = new ArrayList<>(batchSize);
+            Iterator<Long> iterator = pending.iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            try {
+                UserProfileDto[] profiles = restTemplate.postForObject(
+                        USER_SERVICE + "/batch", Map.of("ids", batch), UserProfileDto[].class);
+                if (profiles != null) {
+                    for (UserProfileDto profile : profiles) {
+                        cache.put(profile.getId(), profile.getNickname());
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Failed to fetch {} nicknames from user-service: {}", batch.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @Data
+    private static class UserProfileDto {
+        private Long id;
+        private String nickname;
+    }
+}
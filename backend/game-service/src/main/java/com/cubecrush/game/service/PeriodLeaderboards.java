@@ -0,0 +1,179 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.event.ScoreRecordedEvent;
+import com.cubecrush.game.repository.LeaderboardSeed;
+import com.cubecrush.game.repository.ScoreRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Daily, weekly and monthly boards, with windows in {@link LeaderboardPeriod#ZONE}. Besides the
+ * current window of each period, the next one is created and seeded by the rollover check a full
+ * period ahead and receives scores dated inside it, so the rollover itself is a reference swap.
+ * Only the rollover check seeds; request and feed threads never wait on a database query. A
+ * window that is not ready, because its seed failed or the check has not run yet, is seeded again
+ * on the next check and reads as unavailable until then.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PeriodLeaderboards {
+
+    private final ScoreRepository scoreRepository;
+    private final LeaderboardIndex leaderboardIndex;
+    private final ShardRouter shardRouter;
+
+    private final Map<LeaderboardPeriod, AtomicReference<Window>> windows = emptyWindows();
+    private final Map<LeaderboardPeriod, AtomicReference<Window>> upcoming = emptyWindows();
+
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rollover();
+    }
+
+    @Scheduled(fixedDelayString = "${game.leaderboard.period.rollover-check-ms:60000}")
+    public synchronized void rollover() {
+        LocalDateTime now = LeaderboardPeriod.now();
+        for (LeaderboardPeriod period : windows.keySet()) {
+            try {
+                Window current = current(period, now);
+                if (!current.ready) {
+                    seed(period, current);
+                }
+                prepareNext(period, now);
+            } catch (RuntimeException e) {
+                log.error("{} leaderboard rollover check failed; retrying on the next check", period, e);
+            }
+        }
+    }
+
+    public synchronized void reseed() {
+        LocalDateTime now = LeaderboardPeriod.now();
+        for (LeaderboardPeriod period : windows.keySet()) {
+            seed(period, current(period, now));
+            Window next = upcoming.get(period).get();
+            if (next != null && next.start.isAfter(now)) {
+                seed(period, next);
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onScoreRecorded(ScoreRecordedEvent event) {
+        if (!shardRouter.owns(event.userId())) {
+            return;
+        }
+        LocalDateTime now = LeaderboardPeriod.now();
+        for (LeaderboardPeriod period : windows.keySet()) {
+            offer(current(period, now), event);
+            Window next = upcoming.get(period).get();
+            if (next != null) {
+                offer(next, event);
+            }
+        }
+    }
+
+    private void offer(Window window, ScoreRecordedEvent event) {
+        if (!event.achievedAt().isBefore(window.start)) {
+            window.board.offer(event.userId(), leaderboardIndex.nicknameOf(event.userId()), event.score(), event.achievedAt());
+        }
+    }
+
+    public void rename(Long userId, String nickname) {
+        leaderboardIndex.board().rename(userId, nickname);
+        for (Map<LeaderboardPeriod, AtomicReference<Window>> slots : List.of(windows, upcoming)) {
+            for (AtomicReference<Window> slot : slots.values()) {
+                Window window = slot.get();
+                if (window != null) {
+                    window.board.rename(userId, nickname);
+                }
+            }
+        }
+    }
+
+    Optional<RankedBoard> board(LeaderboardPeriod period) {
+        if (!period.isWindowed()) {
+            return leaderboardIndex.isReady() ? Optional.of(leaderboardIndex.board()) : Optional.empty();
+        }
+        Window window = current(period, LeaderboardPeriod.now());
+        return window.ready ? Optional.of(window.board) : Optional.empty();
+    }
+
+    private Window current(LeaderboardPeriod period, LocalDateTime now) {
+        AtomicReference<Window> slot = windows.get(period);
+        LocalDateTime start = period.windowStart(now);
+        Window window = slot.get();
+        if (window != null && window.start.equals(start)) {
+            return window;
+        }
+
+        Window prepared = upcoming.get(period).get();
+        Window next = prepared != null && prepared.start.equals(start) ? prepared : new Window(start);
+        if (!slot.compareAndSet(window, next)) {
+            return slot.get();
+        }
+        log.info("{} leaderboard rolled over to {} with {} players", period, start, next.board.size());
+        return next;
+    }
+
+    private void prepareNext(LeaderboardPeriod period, LocalDateTime now) {
+        AtomicReference<Window> slot = upcoming.get(period);
+        LocalDateTime start = period.nextWindowStart(now);
+        Window window = slot.get();
+        if (window != null && window.start.equals(start)) {
+            if (!window.ready) {
+                seed(period, window);
+            }
+            return;
+        }
+        Window next = new Window(start);
+        if (slot.compareAndSet(window, next)) {
+            seed(period, next);
+        }
+    }
+
+    private void seed(LeaderboardPeriod period, Window window) {
+        long startTime = System.currentTimeMillis();
+        List<LeaderboardSeed> seeds = scoreRepository.findBestScoresSince(window.start, shardRouter.count(), shardRouter.index());
+        for (LeaderboardSeed seed : seeds) {
+            window.board.offer(seed.userId(), leaderboardIndex.nicknameOf(seed.userId()), seed.score(), seed.achievedAt());
+        }
+        window.ready = true;
+        log.info("{} leaderboard window {} seeded with {} players in {}ms",
+                period, window.start, window.board.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private static Map<LeaderboardPeriod, AtomicReference<Window>> emptyWindows() {
+        Map<LeaderboardPeriod, AtomicReference<Window>> windows = new EnumMap<>(LeaderboardPeriod.class);
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            if (period.isWindowed()) {
+                windows.put(period, new AtomicReference<>());
+            }
+        }
+        return windows;
+    }
+
+    private static final class Window {
+        private final LocalDateTime start;
+        private final RankedBoard board = new RankedBoard();
+        private volatile boolean ready;
+
+        private Window(LocalDateTime start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.model.TopPlayer;
+import com.cubecrush.game.util.RankTree;
+import com.cubecrush.game.web.dto.PlayerRank;
+import com.cubecrush.game.web.dto.ShardSlice;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class RankedBoard {
+
+    static final Comparator<TopPlayer> PLAYER_ORDER = Comparator.comparing(TopPlayer::getScore, Comparator.reverseOrder())
+            .thenComparing(TopPlayer::getId);
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RankTree<Entry> ranking = new RankTree<>(Entry.ORDER);
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ScoreChangeListener listener;
+    private volatile long version = VERSIONS.incrementAndGet();
+
+    RankedBoard() {
+        this((previous, current) -> { });
+    }
+
+    RankedBoard(ScoreChangeListener listener) {
+        this.listener = listener;
+    }
+
+    boolean offer(Long userId, String nickname, int score, LocalDateTime achievedAt) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Entry current = entries.get(userId);
+            if (current != null) {
+                if (current.score() >= score) {
+                    return false;
+                }
+                ranking.remove(current);
+            }
+            Entry updated = new Entry(userId, nickname, score, achievedAt);
+            entries.put(userId, updated);
+            ranking.add(updated);
+            version = VERSIONS.incrementAndGet();
+            listener.onChange(current == null ? null : current.score(), score);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    boolean rename(Long userId, String nickname) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Entry current = entries.get(userId);
+            if (current == null || Objects.equals(current.nickname(), nickname)) {
+                return false;
+            }
+            ranking.remove(current);
+            Entry renamed = new Entry(userId, nickname, current.score(), current.achievedAt());
+            entries.put(userId, renamed);
+            ranking.add(renamed);
+            version = VERSIONS.incrementAndGet();
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    long version() {
+        return version;
+    }
+
+    Optional<TopPlayer> find(Long userId) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return Optional.ofNullable(entries.get(userId)).map(Entry::toTopPlayer);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    int size() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return ranking.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    List<TopPlayer> page(LeaderboardCursor after, int limit) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int from = after == null
+                    ? 0
+                    : ranking.countUpTo(new Entry(after.userId(), null, after.score(), null));
+            return ranking.range(from, limit).stream()
+                    .map(Entry::toTopPlayer)
+                    .toList();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    OptionalInt rankOf(Long userId) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            Entry entry = entries.get(userId);
+            return entry == null ? OptionalInt.empty() : OptionalInt.of(ranking.rankOf(entry) + 1);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    Optional<PlayerRank> neighbourhood(Long userId, int window) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            int index = ranking.rankOf(entry);
+            int from = Math.max(0, index - window);
+            List<TopPlayer> above = ranking.range(from, index - from).stream()
+                    .map(Entry::toTopPlayer)
+                    .toList();
+            List<TopPlayer> below = ranking.range(index + 1, window).stream()
+                    .map(Entry::toTopPlayer)
+                    .toList();
+            return Optional.of(PlayerRank.of(entry.toTopPlayer(), index + 1, ranking.size(), above, below));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    ShardSlice slice(int score, long userId, int window) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            Entry probe = new Entry(userId, null, score, null);
+            int before = ranking.rankOf(probe);
+            int from = Math.max(0, before - window);
+            List<TopPlayer> above = ranking.range(from, before - from).stream()
+                    .map(Entry::toTopPlayer)
+                    .toList();
+            List<TopPlayer> below = ranking.range(ranking.countUpTo(probe), window).stream()
+                    .map(Entry::toTopPlayer)
+                    .toList();
+            return new ShardSlice(before, ranking.size(), above, below);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    interface ScoreChangeListener {
+        void onChange(Integer previous, int current);
+    }
+
+    private record Entry(Long userId, String nickname, int score, LocalDateTime achievedAt) {
+        static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::score).reversed()
+                .thenComparing(Entry::userId);
+
+        TopPlayer toTopPlayer() {
+            TopPlayer player = new TopPlayer();
+            player.setId(userId);
+            player.setNickname(nickname);
+            player.setScore(score);
+            player.setAchievedAt(achievedAt);
+            return player;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.event.ScoreRecordedEvent;
+import com.cubecrush.game.util.ScoreHistogram;
+import com.cubecrush.game.web.dto.DistributionSketch;
+import com.cubecrush.game.web.dto.ScoreDistributionView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScoreDistribution {
+
+    private static final double[] QUANTILES = {0.5, 0.75, 0.9, 0.95, 0.99};
+    private static final String RETAINED_SCORES = "SELECT score, COUNT(*) FROM scores WHERE user_id % ? = ? GROUP BY score";
+    private static final String ARCHIVED_SCORES = """
+            SELECT (e.value ->> 1)::int, COUNT(*)
+            FROM scores_archive a
+            CROSS JOIN LATERAL jsonb_array_elements(a.scores) e
+            WHERE a.user_id % ? = ?
+            GROUP BY 1
+            """;
+    // Partitions detached by ScoreRetention but not archived yet; the name pattern keeps them safe to quote.
+    private static final String DETACHED_PARTITIONS = """
+            SELECT c.relname
+            FROM pg_class c
+            WHERE c.relkind = 'r'
+              AND c.relname ~ '^scores_[0-9]{4}_[0-9]{2}$'
+              AND NOT EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = c.oid)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ScoreHistogram bestScores = new ScoreHistogram();
+    private volatile ScoreHistogram allScores = new ScoreHistogram();
+    private volatile Seeding seeding;
+
+    /**
+     * Rebuilds the all-scores histogram while scores keep arriving. Scores recorded during the
+     * rebuild are held back and, once the histogram is swapped in, added unless the seed query's
+     * snapshot already counted them. Score ids are allocated in pooled blocks and do not follow
+     * commit order, so membership is checked by id in the same repeatable-read snapshot rather
+     * than against an id high-water mark.
+     *
+     * <p>Archived scores are counted too, so compaction leaves the quantiles unchanged. The
+     * table locks are taken before the snapshot: {@link ScoreRetention} cannot detach a partition
+     * or move rows into {@code scores_archive} while the seed runs, and every score is seen in
+     * exactly one of {@code scores}, a detached partition or the archive.
+     */
+    @Order(2)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long startTime = System.currentTimeMillis();
+        Seeding current = new Seeding();
+        seeding = current;
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        ScoreHistogram loaded;
+        try {
+            loaded = snapshot.execute(status -> {
+                jdbcTemplate.execute("LOCK TABLE scores IN ACCESS SHARE MODE");
+                jdbcTemplate.execute("LOCK TABLE scores_archive IN SHARE MODE");
+                ScoreHistogram histogram = new ScoreHistogram();
+                for (String source : seedSources()) {
+                    jdbcTemplate.query(source,
+                            row -> {
+                                histogram.add(row.getInt(1), row.getLong(2));
+                            },
+                            shardRouter.count(), shardRouter.index());
+                }
+                allScores = histogram;
+                List<ScoreRecordedEvent> pending = current.close();
+                Set<Long> seeded;
+                try {
+                    seeded = seededIds(pending);
+                } catch (RuntimeException e) {
+                    log.warn("Could not match {} scores recorded during the distribution reload; counting them all", pending.size(), e);
+                    seeded = Set.of();
+                }
+                for (ScoreRecordedEvent event : pending) {
+                    if (event.scoreId() == null || !seeded.contains(event.scoreId())) {
+                        histogram.record(event.score());
+                    }
+                }
+                return histogram;
+            });
+        } finally {
+            seeding = null;
+            current.close().forEach(event -> allScores.record(event.score()));
+        }
+        log.info("Score distribution loaded with {} games in {}ms",
+                Objects.requireNonNull(loaded).count(), System.currentTimeMillis() - startTime);
+    }
+
+    private List<String> seedSources() {
+        List<String> sources = new ArrayList<>();
+        sources.add(RETAINED_SCORES);
+        sources.add(ARCHIVED_SCORES);
+        for (String partition : jdbcTemplate.queryForList(DETACHED_PARTITIONS, String.class)) {
+            sources.add("SELECT score, COUNT(*) FROM \"" + partition + "\" WHERE user_id % ? = ? GROUP BY score");
+        }
+        return sources;
+    }
+
+    private Set<Long> seededIds(List<ScoreRecordedEvent> events) {
+        Long[] ids = events.stream().map(ScoreRecordedEvent::scoreId).filter(Objects::nonNull).toArray(Long[]::new);
+        if (ids.length == 0) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM scores WHERE id = ANY(?)", Long.class, (Object) ids));
+    }
+
+    @TransactionalEventListener
+    public void onScoreRecorded(ScoreRecordedEvent event) {
+        if (!shardRouter.owns(event.userId())) {
+            return;
+        }
+        Seeding current = seeding;
+        if (current != null && current.hold(event)) {
+            return;
+        }
+        allScores.record(event.score());
+    }
+
+    void bestScoreChanged(Integer previous, int current) {
+        if (previous != null) {
+            bestScores.remove(previous);
+        }
+        bestScores.record(current);
+    }
+
+    public ScoreDistributionView view(Integer score) {
+        return view(bestScores, allScores, score);
+    }
+
+    public ScoreDistributionView merged(Integer score, List<DistributionSketch> sketches) {
+        Base64.Decoder decoder = Base64.getDecoder();
+        ScoreHistogram best = new ScoreHistogram();
+        ScoreHistogram all = new ScoreHistogram();
+        for (DistributionSketch sketch : sketches) {
+            best.merge(ScoreHistogram.fromBytes(decoder.decode(sketch.bestScores())));
+            all.merge(ScoreHistogram.fromBytes(decoder.decode(sketch.allScores())));
+        }
+        return view(best, all, score);
+    }
+
+    public DistributionSketch sketch() {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return new DistributionSketch(encoder.encodeToString(bestScores.toBytes()), encoder.encodeToString(allScores.toBytes()));
+    }
+
+    private static ScoreDistributionView view(ScoreHistogram best, ScoreHistogram all, Integer score) {
+        long players = best.count();
+        Double percentile = null;
+        if (score != null && players > 0) {
+            percentile = Math.round(best.countBelow(score) * 1000.0 / players) / 10.0;
+        }
+        return new ScoreDistributionView(players, all.count(), quantiles(best), quantiles(all),
+                percentile, best.buckets());
+    }
+
+    /** Scores recorded while a rebuild runs, until the rebuilt histogram takes over. */
+    private static final class Seeding {
+        private final List<ScoreRecordedEvent> pending = new ArrayList<>();
+        private boolean closed;
+
+        synchronized boolean hold(ScoreRecordedEvent event) {
+            if (closed) {
+                return false;
+            }
+            pending.add(event);
+            return true;
+        }
+
+        synchronized List<ScoreRecordedEvent> close() {
+            closed = true;
+            List<ScoreRecordedEvent> held = new ArrayList<>(pending);
+            pending.clear();
+            return held;
+        }
+    }
+
+    private static Map<String, Integer> quantiles(ScoreHistogram histogram) {
+        Map<String, Integer> quantiles = new LinkedHashMap<>();
+        for (double q : QUANTILES) {
+            quantiles.put("p" + Math.round(q * 100), histogram.quantile(q));
+        }
+        return quantiles;
+    }
+}
@@ -0,0 +1,94 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.model.Score;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScoreIdempotency {
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final String FIND = """
+            SELECT score_id, score, achieved_at
+            FROM score_idempotency_keys
+            WHERE user_id = ? AND idempotency_key = ? AND score_id IS NOT NULL
+            """;
+    private static final String PURGE = "DELETE FROM score_idempotency_keys WHERE created_at < ?";
+
+    private final ScoreWriter scoreWriter;
+    private final JdbcTemplate jdbcTemplate;
+
+    private Cache<Key, Score> cache;
+
+    @Value("${game.score.idempotency.cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${game.score.idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    public Score submit(String idempotencyKey, Score score) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new GameException("GAME_INVALID_IDEMPOTENCY_KEY", HttpStatus.BAD_REQUEST);
+        }
+        Key key = new Key(score.getUserId(), idempotencyKey);
+        Score stored = cache.getIfPresent(key);
+        if (stored == null) {
+            stored = scoreWriter.writeOnce(score, idempotencyKey)
+                    .or(() -> find(key))
+                    .orElseThrow(() -> new GameException("GAME_IDEMPOTENCY_CONFLICT", HttpStatus.CONFLICT));
+            cache.put(key, stored);
+        }
+        if (!stored.getScore().equals(score.getScore())) {
+            throw new GameException("GAME_IDEMPOTENCY_KEY_REUSED", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        return stored;
+    }
+
+    @Scheduled(fixedDelayString = "${game.score.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update(PURGE, Timestamp.valueOf(LocalDateTime.now().minus(Duration.ofMillis(ttlMs))));
+        if (purged > 0) {
+            log.debug("Purged {} expired score idempotency keys", purged);
+        }
+    }
+
+    private Optional<Score> find(Key key) {
+        List<Score> rows = jdbcTemplate.query(FIND, (rs, rowNum) -> {
+            Score score = new Score();
+            score.setId(rs.getLong("score_id"));
+            score.setUserId(key.userId());
+            score.setScore(rs.getInt("score"));
+            score.setAchievedAt(rs.getTimestamp("achieved_at").toLocalDateTime());
+            return score;
+        }, key.userId(), key.idempotencyKey());
+        return rows.stream().findFirst();
+    }
+
+    private record Key(long userId, String idempotencyKey) {
+    }
+}
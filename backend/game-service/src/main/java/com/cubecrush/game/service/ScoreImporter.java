@@ -0,0 +1,200 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.config.InstanceOrigin;
+import com.cubecrush.game.event.ChangeFeedMessage;
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.web.dto.ScoreImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+/**
+ * Loads scores in bulk: the input is streamed into a temporary table over the COPY protocol,
+ * moved into {@code scores} with a single INSERT and merged into {@code user_score_summary}
+ * with a single upsert. Per-row change notifications are suppressed and replaced by one
+ * {@code reload} message after commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScoreImporter {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE score_import (
+                user_id BIGINT NOT NULL,
+                score INTEGER NOT NULL,
+                achieved_at TIMESTAMP WITH TIME ZONE
+            ) ON COMMIT DROP
+            """;
+    private static final String COPY_CSV = "COPY score_import (user_id, score, achieved_at) FROM STDIN WITH (FORMAT csv, HEADER true)";
+    private static final String COPY_ROWS = "COPY score_import (user_id, score, achieved_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String ENSURE_PARTITIONS = """
+            SELECT ensure_scores_partitions((MIN(achieved_at) AT TIME ZONE 'UTC')::date, (MAX(achieved_at) AT TIME ZONE 'UTC')::date)
+            FROM score_import
+            WHERE achieved_at IS NOT NULL
+            HAVING COUNT(*) > 0
+            """;
+    private static final String INSERT_SCORES = """
+            INSERT INTO scores (user_id, score, achieved_at)
+            SELECT user_id, score, COALESCE(achieved_at, CURRENT_TIMESTAMP)
+            FROM score_import
+            """;
+    private static final String MERGE_SUMMARIES = """
+            INSERT INTO user_score_summary AS s
+                (user_id, games_played, score_sum, best_score, best_score_achieved_at, last_played_at)
+            SELECT user_id, COUNT(*), SUM(score), MAX(score),
+                   (array_agg(achieved_at ORDER BY score DESC, achieved_at DESC))[1],
+                   MAX(achieved_at)
+            FROM (SELECT user_id, score, COALESCE(achieved_at, CURRENT_TIMESTAMP) AS achieved_at FROM score_import) i
+            GROUP BY user_id
+            ON CONFLICT (user_id) DO UPDATE SET
+                games_played = s.games_played + EXCLUDED.games_played,
+                score_sum = s.score_sum + EXCLUDED.score_sum,
+                best_score = GREATEST(s.best_score, EXCLUDED.best_score),
+                best_score_achieved_at = CASE
+                    WHEN EXCLUDED.best_score > s.best_score THEN EXCLUDED.best_score_achieved_at
+                    WHEN EXCLUDED.best_score = s.best_score
+                        THEN GREATEST(s.best_score_achieved_at, EXCLUDED.best_score_achieved_at)
+                    ELSE s.best_score_achieved_at
+                END,
+                last_played_at = GREATEST(s.last_played_at, EXCLUDED.last_played_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final InstanceOrigin instanceOrigin;
+
+    @Value("${game.score.import.copy-buffer-bytes:65536}")
+    private int copyBufferBytes;
+
+    @Transactional
+    public ScoreImportResult importScores(InputStream input, Format format) {
+        long startTime = System.currentTimeMillis();
+        ScoreImportResult result;
+        try {
+            result = jdbcTemplate.execute((ConnectionCallback<ScoreImportResult>) connection -> {
+                copy(connection, input, format);
+                return load(connection, startTime);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Rejected score import: {}", e.getMostSpecificCause().getMessage());
+            throw new GameException("GAME_INVALID_IMPORT", HttpStatus.BAD_REQUEST);
+        }
+        log.info("Imported {} scores for {} users in {}ms", result.imported(), result.users(), result.durationMs());
+        return result;
+    }
+
+    private void copy(Connection connection, InputStream input, Format format) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING);
+        }
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        try {
+            if (format == Format.CSV) {
+                copyManager.copyIn(COPY_CSV, input, copyBufferBytes);
+            } else {
+                copyNdjson(copyManager.copyIn(COPY_ROWS), input);
+            }
+        } catch (IOException e) {
+            throw new GameException("GAME_INVALID_IMPORT", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private ScoreImportResult load(Connection connection, long startTime) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(ENSURE_PARTITIONS);
+            statement.execute("SELECT set_config('game.skip_notify', 'on', true)");
+            long imported = statement.executeUpdate(INSERT_SCORES);
+            long users = statement.executeUpdate(MERGE_SUMMARIES);
+            if (imported > 0) {
+                notifyReload(connection);
+            }
+            return new ScoreImportResult(imported, users, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private void notifyReload(Connection connection) throws SQLException {
+        String payload = objectMapper.createObjectNode()
+                .put("type", ChangeFeedMessage.RELOAD)
+                .put("origin", instanceOrigin.id())
+                .toString();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, ChangeFeedListener.CHANNEL);
+            statement.setString(2, payload);
+            statement.execute();
+        }
+    }
+
+    private void copyNdjson(CopyIn copyIn, InputStream input) throws SQLException, IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        StringBuilder chunk = new StringBuilder(copyBufferBytes);
+        boolean completed = false;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                ImportLine entry = parse(line);
+                chunk.append(entry.userId()).append(',').append(entry.score()).append(',');
+                if (entry.achievedAt() != null) {
+                    chunk.append(entry.achievedAt());
+                }
+                chunk.append('\n');
+                if (chunk.length() >= copyBufferBytes) {
+                    write(copyIn, chunk);
+                }
+            }
+            write(copyIn, chunk);
+            copyIn.endCopy();
+            completed = true;
+        } finally {
+            if (!completed && copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private ImportLine parse(String line) {
+        try {
+            ImportLine entry = objectMapper.readValue(line, ImportLine.class);
+            if (entry.userId() == null || entry.score() == null) {
+                throw new GameException("GAME_INVALID_IMPORT", HttpStatus.BAD_REQUEST);
+            }
+            return entry;
+        } catch (IOException e) {
+            throw new GameException("GAME_INVALID_IMPORT", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    private record ImportLine(Long userId, Integer score, LocalDateTime achievedAt) {}
+}
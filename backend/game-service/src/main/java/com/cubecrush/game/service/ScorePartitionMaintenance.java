@@ -0,0 +1,39 @@
+package com.cubecrush.game.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScorePartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${game.score.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${game.score.partitions.cron:0 15 3 * * *}")
+    public void ensurePartitions() {
+        LocalDate from = LocalDate.now().withDayOfMonth(1);
+        LocalDate to = from.plusMonths(monthsAhead);
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT ensure_scores_partitions(?, ?)", Integer.class, from, to);
+            if (created != null && created > 0) {
+                log.info("Created {} score partitions up to {}", created, to);
+            }
+        } catch (Exception e) {
+            log.error("Failed to create score partitions up to {}", to, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.cubecrush.game.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Archives scores older than the retention horizon. The all-scores distribution also counts
+ * archived scores, so nothing derived in memory changes and no instance has to reload.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScoreRetention {
+
+    private static final String PARTITION_PREFIX = "scores_";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String MONTHLY_PARTITIONS = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'scores'::regclass
+              AND c.relname ~ '^scores_[0-9]{4}_[0-9]{2}$'
+            ORDER BY c.relname
+            """;
+    private static final String DETACHED_PARTITIONS = """
+            SELECT c.relname
+            FROM pg_class c
+            WHERE c.relkind = 'r'
+              AND c.relname ~ '^scores_[0-9]{4}_[0-9]{2}$'
+              AND NOT EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = c.oid)
+            ORDER BY c.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${game.score.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${game.score.retention.keep-months:12}")
+    private int keepMonths;
+
+    @Value("${game.score.retention.batch-size:5000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${game.score.retention.cron:0 45 3 * * *}")
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+        // Period leaderboards reseed from raw scores, so the previous month always stays.
+        LocalDate cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(Math.max(1, keepMonths));
+        long startTime = System.currentTimeMillis();
+        long archived = 0;
+        try {
+            List<String> partitions = jdbcTemplate.queryForList(MONTHLY_PARTITIONS, String.class);
+            for (String partition : partitions) {
+                LocalDate month = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_MONTH).atDay(1);
+                if (month.isBefore(cutoff)) {
+                    jdbcTemplate.queryForObject("SELECT detach_scores_partition(?)", Boolean.class, partition);
+                }
+            }
+            // Also picks up partitions detached by a run that failed before archiving them.
+            for (String partition : jdbcTemplate.queryForList(DETACHED_PARTITIONS, String.class)) {
+                archived += archive("SELECT archive_scores_partition(?)", partition);
+            }
+
+            Timestamp before = Timestamp.valueOf(cutoff.atStartOfDay());
+            long batch;
+            do {
+                batch = archive("SELECT archive_default_scores(?, ?)", before, batchSize);
+                archived += batch;
+            } while (batch > 0);
+        } catch (Exception e) {
+            log.error("Score retention before {} failed after {} rows", cutoff, archived, e);
+        }
+        if (archived > 0) {
+            log.info("Archived {} scores before {} in {}ms", archived, cutoff, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private long archive(String sql, Object... args) {
+        Long archived = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return archived == null ? 0 : archived;
+    }
+}
@@ -0,0 +1,153 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.model.Score;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScoreWriteBuffer {
+
+    private final ScoreWriter scoreWriter;
+
+    private BlockingQueue<PendingScore> queue;
+    private volatile boolean running;
+    private Thread flusher;
+
+    @Value("${game.score.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${game.score.write-behind.linger-ms:5}")
+    private long lingerMs;
+
+    @Value("${game.score.write-behind.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${game.score.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${game.score.write-behind.submit-timeout-ms:5000}")
+    private long submitTimeoutMs;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::run, "score-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Score write-behind enabled: linger {}ms, max batch {}, queue {}", lingerMs, maxBatchSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        failQueued();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<Score> submit(Score score) {
+        PendingScore pending = new PendingScore(score, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            pending.result().completeExceptionally(unavailable());
+            return pending.result();
+        }
+        if (!running) {
+            failQueued();
+        }
+        return pending.result()
+                .orTimeout(submitTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(e -> CompletableFuture.failedFuture(e instanceof TimeoutException ? unavailable() : e));
+    }
+
+    private void run() {
+        List<PendingScore> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingScore first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingScore next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            log.error("Score write-behind flusher died", e);
+            throw e;
+        } finally {
+            running = false;
+            batch.forEach(pending -> pending.result().completeExceptionally(unavailable()));
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        PendingScore pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(unavailable());
+        }
+    }
+
+    private static GameException unavailable() {
+        return new GameException("GAME_SCORE_WRITE_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private void flush(List<PendingScore> batch) {
+        try {
+            List<Score> saved = scoreWriter.write(batch.stream().map(PendingScore::score).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+            log.debug("Flushed {} buffered scores", batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Batched score write of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (PendingScore pending : batch) {
+                pending.score().setId(null);
+                flush(List.of(pending));
+            }
+        }
+    }
+
+    private record PendingScore(Score score, CompletableFuture<Score> result) {}
+}
@@ -0,0 +1,99 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.event.ScoreRecordedEvent;
+import com.cubecrush.game.event.ScoreSummaryUpdatedEvent;
+import com.cubecrush.game.model.Score;
+import com.cubecrush.game.model.UserScoreSummary;
+import com.cubecrush.game.repository.ScoreRepository;
+import com.cubecrush.game.repository.UserScoreSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class ScoreWriter {
+
+    private static final String CLAIM_KEY = """
+            INSERT INTO score_idempotency_keys (user_id, idempotency_key)
+            VALUES (?, ?)
+            ON CONFLICT (user_id, idempotency_key) DO NOTHING
+            """;
+    private static final String RECORD_KEY = """
+            UPDATE score_idempotency_keys
+            SET score_id = ?, score = ?, achieved_at = ?
+            WHERE user_id = ? AND idempotency_key = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScoreRepository scoreRepository;
+    private final UserScoreSummaryRepository userScoreSummaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public List<Score> write(List<Score> scores) {
+        List<Score> saved = scoreRepository.saveAll(scores);
+
+        Map<Long, SummaryDelta> deltas = new LinkedHashMap<>();
+        for (Score score : saved) {
+            deltas.computeIfAbsent(score.getUserId(), userId -> new SummaryDelta()).add(score);
+        }
+        deltas.forEach((userId, delta) -> userScoreSummaryRepository.mergeScores(userId,
+                delta.gamesPlayed, delta.scoreSum, delta.bestScore, delta.bestScoreAchievedAt, delta.lastPlayedAt));
+
+        for (UserScoreSummary summary : userScoreSummaryRepository.findAllById(deltas.keySet())) {
+            eventPublisher.publishEvent(new ScoreSummaryUpdatedEvent(summary.getUserId(), summary.getGamesPlayed(),
+                    summary.getScoreSum(), summary.getBestScore(), summary.getBestScoreAchievedAt()));
+        }
+        for (Score score : saved) {
+            eventPublisher.publishEvent(new ScoreRecordedEvent(score.getId(), score.getUserId(), score.getScore(), score.getAchievedAt()));
+        }
+        return saved;
+    }
+
+    /**
+     * Writes the score unless the key was already used by this user. A concurrent claim of the same
+     * key blocks on the unique constraint until the first transaction commits, so only one write wins.
+     */
+    @Transactional
+    public Optional<Score> writeOnce(Score score, String idempotencyKey) {
+        if (jdbcTemplate.update(CLAIM_KEY, score.getUserId(), idempotencyKey) == 0) {
+            return Optional.empty();
+        }
+        Score saved = write(List.of(score)).get(0);
+        jdbcTemplate.update(RECORD_KEY, saved.getId(), saved.getScore(), Timestamp.valueOf(saved.getAchievedAt()),
+                saved.getUserId(), idempotencyKey);
+        return Optional.of(saved);
+    }
+
+    private static class SummaryDelta {
+        private long gamesPlayed;
+        private long scoreSum;
+        private int bestScore = -1;
+        private LocalDateTime bestScoreAchievedAt;
+        private LocalDateTime lastPlayedAt;
+
+        void add(Score score) {
+            gamesPlayed++;
+            scoreSum += score.getScore();
+            LocalDateTime achievedAt = score.getAchievedAt();
+            if (score.getScore() > bestScore
+                    || (score.getScore() == bestScore && achievedAt.isAfter(bestScoreAchievedAt))) {
+                bestScore = score.getScore();
+                bestScoreAchievedAt = achievedAt;
+            }
+            if (lastPlayedAt == null || achievedAt.isAfter(lastPlayedAt)) {
+                lastPlayedAt = achievedAt;
+            }
+        }
+    }
+}
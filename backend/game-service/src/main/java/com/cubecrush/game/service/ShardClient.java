@@ -0,0 +1,138 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.model.TopPlayer;
+import com.cubecrush.game.web.dto.DistributionSketch;
+import com.cubecrush.game.web.dto.ShardSlice;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+@Slf4j
+@Component
+public class ShardClient {
+
+    public static final String SHARD_INDEX_METADATA = "shard-index";
+    private static final String SHARD_API = "/api/v1/system/game/shard";
+
+    private final DiscoveryClient discoveryClient;
+    private final ShardRouter shardRouter;
+    private final RestTemplate restTemplate;
+    private final ThreadPoolExecutor executor;
+    private final long shardTimeoutMs;
+
+    @Value("${spring.application.name}")
+    private String serviceId;
+
+    public ShardClient(DiscoveryClient discoveryClient, ShardRouter shardRouter,
+                       @Value("${game.shard.connect-timeout-ms:500}") int connectTimeoutMs,
+                       @Value("${game.shard.read-timeout-ms:2000}") int readTimeoutMs,
+                       @Value("${game.shard.timeout-ms:2500}") long shardTimeoutMs,
+                       @Value("${game.shard.fan-out-threads:16}") int fanOutThreads,
+                       @Value("${game.shard.fan-out-queue-capacity:256}") int fanOutQueueCapacity) {
+        this.discoveryClient = discoveryClient;
+        this.shardRouter = shardRouter;
+        this.shardTimeoutMs = shardTimeoutMs;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(fanOutThreads, fanOutThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(fanOutQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "shard-client-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(connectTimeoutMs);
+        factory.setReadTimeout(readTimeoutMs);
+        this.restTemplate = new RestTemplate(factory);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Calls every shard in parallel on a bounded pool. A shard that has not answered within the
+     * shard timeout, or a pool too busy to take the call, fails the whole read with a 503 rather
+     * than holding the request thread.
+     */
+    public <T> List<T> fanOut(IntFunction<T> call) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardRouter.count());
+        try {
+            for (int shard = 0; shard < shardRouter.count(); shard++) {
+                int target = shard;
+                futures.add(CompletableFuture.supplyAsync(() -> call.apply(target), executor)
+                        .orTimeout(shardTimeoutMs, TimeUnit.MILLISECONDS));
+            }
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(false));
+            log.warn("Shard fan-out failed: {}", e instanceof RejectedExecutionException ? "pool saturated" : e.getMessage());
+            throw new GameException("GAME_LEADERBOARD_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    public List<TopPlayer> top(int shard, LeaderboardPeriod period, String cursor, int limit) {
+        URI uri = uri(shard, "/top", Map.of("period", period.name(), "limit", limit), cursor);
+        return restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<List<TopPlayer>>() {}).getBody();
+    }
+
+    public Optional<TopPlayer> entry(int shard, LeaderboardPeriod period, Long userId) {
+        URI uri = uri(shard, "/entry", Map.of("period", period.name(), "userId", userId), null);
+        try {
+            return Optional.ofNullable(restTemplate.getForObject(uri, TopPlayer.class));
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+
+    public ShardSlice slice(int shard, LeaderboardPeriod period, int score, long userId, int window) {
+        URI uri = uri(shard, "/slice", Map.of("period", period.name(), "score", score, "userId", userId, "window", window), null);
+        return restTemplate.getForObject(uri, ShardSlice.class);
+    }
+
+    public DistributionSketch sketch(int shard) {
+        return restTemplate.getForObject(instance(shard).resolve("/api/v1/system/game/distribution/sketch"), DistributionSketch.class);
+    }
+
+    private URI uri(int shard, String path, Map<String, Object> params, String cursor) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUri(instance(shard)).path(SHARD_API + path);
+        params.forEach(builder::queryParam);
+        if (cursor != null) {
+            builder.queryParam("cursor", cursor);
+        }
+        return builder.build().toUri();
+    }
+
+    private URI instance(int shard) {
+        String index = String.valueOf(shard);
+        return discoveryClient.getInstances(serviceId).stream()
+                .filter(instance -> index.equals(instance.getMetadata().get(SHARD_INDEX_METADATA)))
+                .findFirst()
+                .map(ServiceInstance::getUri)
+                .orElseThrow(() -> new IllegalStateException("No instance registered for shard " + shard));
+    }
+}
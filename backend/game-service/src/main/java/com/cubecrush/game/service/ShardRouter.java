@@ -0,0 +1,34 @@
+package com.cubecrush.game.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ShardRouter {
+
+    @Value("${game.shard.count:1}")
+    private int count;
+
+    @Value("${game.shard.index:0}")
+    private int index;
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public int shardOf(Long userId) {
+        return (int) Math.floorMod(userId, (long) count);
+    }
+
+    public boolean owns(Long userId) {
+        return shardOf(userId) == index;
+    }
+}
@@ -0,0 +1,97 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.model.TopPlayer;
+import com.cubecrush.game.util.TopNMerge;
+import com.cubecrush.game.web.dto.DistributionSketch;
+import com.cubecrush.game.web.dto.PlayerRank;
+import com.cubecrush.game.web.dto.ScoreDistributionView;
+import com.cubecrush.game.web.dto.ShardSlice;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardedLeaderboard {
+
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+    private final PeriodLeaderboards periodLeaderboards;
+    private final ScoreDistribution scoreDistribution;
+
+    public List<TopPlayer> top(LeaderboardPeriod period, String cursor, int limit) {
+        List<List<TopPlayer>> parts = shardClient.fanOut(shard -> isLocal(shard)
+                ? localTop(period, cursor, limit)
+                : shardClient.top(shard, period, cursor, limit));
+        return TopNMerge.merge(parts, RankedBoard.PLAYER_ORDER, limit);
+    }
+
+    public Optional<PlayerRank> rank(LeaderboardPeriod period, Long userId, int window) {
+        Optional<TopPlayer> entry = ownerEntry(period, userId);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        TopPlayer player = entry.get();
+        List<ShardSlice> slices = shardClient.fanOut(shard -> isLocal(shard)
+                ? localSlice(period, player.getScore(), userId, window)
+                : shardClient.slice(shard, period, player.getScore(), userId, window));
+
+        int before = slices.stream().mapToInt(ShardSlice::before).sum();
+        int total = slices.stream().mapToInt(ShardSlice::size).sum();
+        List<TopPlayer> above = TopNMerge.merge(slices.stream().map(ShardSlice::above).toList(),
+                RankedBoard.PLAYER_ORDER, Integer.MAX_VALUE);
+        List<TopPlayer> below = TopNMerge.merge(slices.stream().map(ShardSlice::below).toList(),
+                RankedBoard.PLAYER_ORDER, window);
+        return Optional.of(PlayerRank.of(player, before + 1, total,
+                above.subList(Math.max(0, above.size() - window), above.size()), below));
+    }
+
+    public ScoreDistributionView distribution(Integer score) {
+        List<DistributionSketch> sketches = shardClient.fanOut(shard -> isLocal(shard)
+                ? scoreDistribution.sketch()
+                : shardClient.sketch(shard));
+        return scoreDistribution.merged(score, sketches);
+    }
+
+    public List<TopPlayer> localTop(LeaderboardPeriod period, String cursor, int limit) {
+        LeaderboardCursor after = cursor == null || cursor.isBlank() ? null : LeaderboardCursor.decode(cursor);
+        return localBoard(period).page(after, limit);
+    }
+
+    public Optional<TopPlayer> localEntry(LeaderboardPeriod period, Long userId) {
+        return localBoard(period).find(userId);
+    }
+
+    public ShardSlice localSlice(LeaderboardPeriod period, int score, long userId, int window) {
+        return localBoard(period).slice(score, userId, window);
+    }
+
+    private Optional<TopPlayer> ownerEntry(LeaderboardPeriod period, Long userId) {
+        int owner = shardRouter.shardOf(userId);
+        if (isLocal(owner)) {
+            return localEntry(period, userId);
+        }
+        try {
+            return shardClient.entry(owner, period, userId);
+        } catch (RestClientException | IllegalStateException e) {
+            log.warn("Shard {} did not answer for user {}: {}", owner, userId, e.getMessage());
+            throw new GameException("GAME_LEADERBOARD_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private RankedBoard localBoard(LeaderboardPeriod period) {
+        return periodLeaderboards.board(period)
+                .orElseThrow(() -> new GameException("GAME_LEADERBOARD_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    private boolean isLocal(int shard) {
+        return shard == shardRouter.index();
+    }
+}
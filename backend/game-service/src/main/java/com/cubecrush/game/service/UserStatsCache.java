@@ -0,0 +1,94 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.event.ScoreSummaryUpdatedEvent;
+import com.cubecrush.game.model.UserStats;
+import com.cubecrush.game.repository.UserScoreSummaryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class UserStatsCache {
+
+    private final UserScoreSummaryRepository userScoreSummaryRepository;
+    private final LeaderboardIndex leaderboardIndex;
+
+    private Cache<Long, CachedStats> cache;
+
+    @Value("${game.stats.cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${game.stats.cache.expire-after-access-ms:3600000}")
+    private long expireAfterAccessMs;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMillis(expireAfterAccessMs))
+                .build();
+    }
+
+    public UserStats get(Long userId) {
+        return cache.get(userId, this::load).toUserStats(userId);
+    }
+
+    @TransactionalEventListener
+    public void onSummaryUpdated(ScoreSummaryUpdatedEvent event) {
+        cache.asMap().compute(event.userId(), (userId, current) -> {
+            if (current != null && current.gamesPlayed() > event.gamesPlayed()) {
+                return current;
+            }
+            String nickname = current != null ? current.nickname() : leaderboardIndex.nicknameOf(userId);
+            return new CachedStats(nickname, event.gamesPlayed(), event.scoreSum(),
+                    event.bestScore(), event.bestScoreAchievedAt());
+        });
+    }
+
+    public void rename(Long userId, String nickname) {
+        cache.asMap().computeIfPresent(userId, (id, current) -> current.withNickname(nickname));
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private CachedStats load(Long userId) {
+        String nickname = leaderboardIndex.nicknameOf(userId);
+        return userScoreSummaryRepository.findById(userId)
+                .map(summary -> new CachedStats(nickname, summary.getGamesPlayed(), summary.getScoreSum(),
+                        summary.getBestScore(), summary.getBestScoreAchievedAt()))
+                .orElseGet(() -> new CachedStats(nickname, 0, 0, null, null));
+    }
+
+    private record CachedStats(String nickname, long gamesPlayed, long scoreSum,
+                               Integer bestScore, LocalDateTime bestScoreAchievedAt) {
+
+        CachedStats withNickname(String nickname) {
+            return new CachedStats(nickname, gamesPlayed, scoreSum, bestScore, bestScoreAchievedAt);
+        }
+
+        UserStats toUserStats(Long userId) {
+            UserStats stats = new UserStats();
+            stats.setId(userId);
+            stats.setNickname(nickname);
+            stats.setGamesPlayed(gamesPlayed);
+            stats.setBestScore(bestScore);
+            stats.setBestScoreAchievedAt(bestScoreAchievedAt);
+            stats.setAverageScore(gamesPlayed == 0 ? null : (double) Math.round((double) scoreSum / gamesPlayed));
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.cubecrush.game.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistic treap: every node keeps the size of its subtree, so insert, remove,
+ * rank and select all run in O(log n). Not thread-safe, callers are expected to guard it.
+ */
+public class RankTree<T> {
+
+    private final Comparator<? super T> comparator;
+    private Node<T> root;
+
+    public RankTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    public void add(T value) {
+        Node<T>[] parts = split(root, value, false);
+        root = merge(merge(parts[0], new Node<>(value)), parts[1]);
+    }
+
+    public boolean remove(T value) {
+        Node<T>[] lower = split(root, value, false);
+        Node<T>[] upper = split(lower[1], value, true);
+        boolean removed = upper[0] != null;
+        if (removed) {
+            upper[0] = merge(upper[0].left, upper[0].right);
+        }
+        root = merge(lower[0], merge(upper[0], upper[1]));
+        return removed;
+    }
+
+    public int rankOf(T value) {
+        return count(value, false);
+    }
+
+    public int countUpTo(T value) {
+        return count(value, true);
+    }
+
+    private int count(T value, boolean inclusive) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(node.value, value);
+            if (cmp < 0 || (inclusive && cmp == 0)) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return rank;
+    }
+
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    public List<T> range(int from, int count) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        if (from < 0 || count <= 0 || from >= size()) {
+            return result;
+        }
+
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        int index = from;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                path.push(node);
+                node = node.left;
+            } else if (index == leftSize) {
+                path.push(node);
+                break;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        while (!path.isEmpty() && result.size() < count) {
+            Node<T> current = path.pop();
+            result.add(current.value);
+            for (Node<T> next = current.right; next != null; next = next.left) {
+                path.push(next);
+            }
+        }
+        return result;
+    }
+
+    private Node<T>[] split(Node<T> node, T value, boolean inclusive) {
+        @SuppressWarnings("unchecked")
+        Node<T>[] parts = new Node[2];
+        if (node == null) {
+            return parts;
+        }
+        int cmp = comparator.compare(node.value, value);
+        if (cmp < 0 || (inclusive && cmp == 0)) {
+            Node<T>[] rest = split(node.right, value, inclusive);
+            node.right = rest[0];
+            update(node);
+            parts[0] = node;
+            parts[1] = rest[1];
+        } else {
+            Node<T>[] rest = split(node.left, value, inclusive);
+            node.left = rest[1];
+            update(node);
+            parts[0] = rest[0];
+            parts[1] = node;
+        }
+        return parts;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node<?> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<T> {
+        private final T value;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(T value) {
+            this.value = value;
+        }
+    }
+}
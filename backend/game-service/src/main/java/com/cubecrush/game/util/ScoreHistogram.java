@@ -0,0 +1,151 @@
+package com.cubecrush.game.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear histogram over non-negative ints in the spirit of HdrHistogram: values below
+ * 64 get exact buckets, larger values are bucketed with a relative error under 1/32.
+ * Updates are lock-free, and histograms can be serialized and merged across instances.
+ */
+public class ScoreHistogram {
+
+    private static final int PRECISION_BITS = 6;
+    private static final int LINEAR_BUCKETS = 1 << PRECISION_BITS;
+    private static final int HALF = LINEAR_BUCKETS / 2;
+    private static final int BUCKETS = LINEAR_BUCKETS + (31 - PRECISION_BITS) * HALF;
+    private static final int FORMAT = 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+
+    public void record(int value) {
+        add(value, 1);
+    }
+
+    public void remove(int value) {
+        add(value, -1);
+    }
+
+    public void add(int value, long count) {
+        counts.addAndGet(indexOf(value), count);
+        total.add(count);
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public int quantile(double q) {
+        long count = count();
+        if (count <= 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(1.0, Math.max(0.0, q)) * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return midpoint(i);
+            }
+        }
+        return midpoint(BUCKETS - 1);
+    }
+
+    public long countBelow(int value) {
+        int limit = indexOf(Math.max(0, value));
+        long below = 0;
+        for (int i = 0; i < limit; i++) {
+            below += counts.get(i);
+        }
+        return below;
+    }
+
+    public List<Bucket> buckets() {
+        List<Bucket> buckets = new ArrayList<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                buckets.add(new Bucket(lowerBound(i), upperBound(i), count));
+            }
+        }
+        return buckets;
+    }
+
+    public void merge(ScoreHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+                total.add(count);
+            }
+        }
+    }
+
+    public byte[] toBytes() {
+        List<Integer> used = new ArrayList<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts.get(i) != 0) {
+                used.add(i);
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(12 + used.size() * 12);
+        buffer.putInt(FORMAT).putInt(PRECISION_BITS).putInt(used.size());
+        for (int index : used) {
+            buffer.putInt(index).putLong(counts.get(index));
+        }
+        return buffer.array();
+    }
+
+    public static ScoreHistogram fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != FORMAT || buffer.getInt() != PRECISION_BITS) {
+            throw new IllegalArgumentException("Unsupported histogram format");
+        }
+        ScoreHistogram histogram = new ScoreHistogram();
+        int used = buffer.getInt();
+        for (int i = 0; i < used; i++) {
+            int index = buffer.getInt();
+            long count = buffer.getLong();
+            histogram.counts.addAndGet(index, count);
+            histogram.total.add(count);
+        }
+        return histogram;
+    }
+
+    static int indexOf(int value) {
+        if (value < LINEAR_BUCKETS) {
+            return Math.max(0, value);
+        }
+        int magnitude = 31 - Integer.numberOfLeadingZeros(value);
+        int shift = magnitude - PRECISION_BITS + 1;
+        return LINEAR_BUCKETS + (magnitude - PRECISION_BITS) * HALF + ((value >>> shift) - HALF);
+    }
+
+    static int lowerBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int offset = index - LINEAR_BUCKETS;
+        int magnitude = PRECISION_BITS + offset / HALF;
+        return (offset % HALF + HALF) << (magnitude - PRECISION_BITS + 1);
+    }
+
+    static int upperBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int magnitude = PRECISION_BITS + (index - LINEAR_BUCKETS) / HALF;
+        return lowerBound(index) + ((1 << (magnitude - PRECISION_BITS + 1)) - 1);
+    }
+
+    private static int midpoint(int index) {
+        int lower = lowerBound(index);
+        return lower + (upperBound(index) - lower) / 2;
+    }
+
+    public record Bucket(int from, int to, long count) {}
+}
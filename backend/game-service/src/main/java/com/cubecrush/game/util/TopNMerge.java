@@ -0,0 +1,41 @@
+package com.cubecrush.game.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of lists that are each already sorted by the same comparator,
+ * stopping once {@code limit} elements have been taken.
+ */
+public final class TopNMerge {
+
+    private TopNMerge() {
+    }
+
+    public static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> comparator, int limit) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((a, b) -> comparator.compare(a.value(), b.value()));
+        for (List<T> list : sortedLists) {
+            if (!list.isEmpty()) {
+                heads.add(new Head<>(list, 0));
+            }
+        }
+
+        List<T> merged = new ArrayList<>(Math.max(0, limit));
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Head<T> head = heads.poll();
+            merged.add(head.value());
+            if (head.position() + 1 < head.list().size()) {
+                heads.add(new Head<>(head.list(), head.position() + 1));
+            }
+        }
+        return merged;
+    }
+
+    private record Head<T>(List<T> list, int position) {
+        T value() {
+            return list.get(position);
+        }
+    }
+}
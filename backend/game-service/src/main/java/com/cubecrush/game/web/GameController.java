@@ -4,17 +4,35 @@ import com.cubecrush.game.model.Score;
 import com.cubecrush.game.model.TopPlayer;
 import com.cubecrush.game.model.UserStats;
 import com.cubecrush.game.service.GameService;
+import com.cubecrush.game.service.LeaderboardPeriod;
+import com.cubecrush.game.service.LeaderboardStream;
+import com.cubecrush.game.web.dto.HistoryPage;
+import com.cubecrush.game.web.dto.LeaderboardPage;
+import com.cubecrush.game.web.dto.LeaderboardSnapshot;
+import com.cubecrush.game.web.dto.PlayerRank;
+import com.cubecrush.game.web.dto.ScoreDistributionView;
+import com.cubecrush.game.web.dto.ScoreHistoryEntry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/game")
@@ -22,21 +40,106 @@ import java.util.List;
 @Tag(name = "Game", description = "Game logic endpoints")
 public class GameController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final GameService gameService;
+    private final LeaderboardStream leaderboardStream;
 
     @PostMapping("/score")
-    @Operation(summary = "Submit a new score", description = "Saves a new score for the authenticated user. Updates user stats and global leaderboard if applicable.")
+    @Operation(summary = "Submit a new score", description = "Saves a new score for the authenticated user. Updates user stats and global leaderboard if applicable. A retry with the same Idempotency-Key returns the originally saved score instead of saving it again.")
     @SecurityRequirement(name = "bearerAuth")
     @ApiResponse(responseCode = "200", description = "Score saved successfully")
-    public ResponseEntity<Score> submitScore(@Parameter(hidden = true) @RequestHeader("X-User-Id") Long userId, @Valid @RequestBody ScoreRequest request) {
-        return ResponseEntity.ok(gameService.submitScore(userId, request.getScore()));
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different score")
+    public ResponseEntity<Score> submitScore(@Parameter(hidden = true) @RequestHeader("X-User-Id") Long userId,
+                                             @Parameter(description = "Client-generated key, up to 128 characters, identifying this submission across retries")
+                                             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                             @Valid @RequestBody ScoreRequest request) {
+        return ResponseEntity.ok(gameService.submitScore(userId, request.getScore(), idempotencyKey));
+    }
+
+    @PostMapping("/score/batch")
+    @Operation(summary = "Submit a batch of scores", description = "Saves many scores for the authenticated user in one transaction, e.g. when syncing an offline session.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponse(responseCode = "200", description = "Scores saved successfully")
+    public ResponseEntity<List<Score>> submitScores(@Parameter(hidden = true) @RequestHeader("X-User-Id") Long userId, @Valid @RequestBody ScoreBatchRequest request) {
+        return ResponseEntity.ok(gameService.submitScores(userId, request.getScores()));
     }
 
     @GetMapping("/top")
-    @Operation(summary = "Get global leaderboard", description = "Returns the list of top players sorted by score. Includes all players who have ever played.")
-    @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully")
-    public ResponseEntity<List<TopPlayer>> getTopPlayers() {
-        return ResponseEntity.ok(gameService.getTopPlayers());
+    @Operation(summary = "Get leaderboard", description = "Returns a page of top players sorted by best score within the period. Pass the X-Next-Cursor header of the previous page as cursor to get the next one. The first page carries an ETag and answers If-None-Match with 304 while the leaderboard is unchanged.")
+    @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TopPlayer.class))))
+    @ApiResponse(responseCode = "304", description = "Leaderboard has not changed since the given ETag")
+    public ResponseEntity<?> getTopPlayers(
+            @Parameter(description = "all_time (default), daily, weekly or monthly") @RequestParam(required = false) String period,
+            @Parameter(description = "Page size, capped on the server") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Opaque cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (limit == null && cursor == null) {
+            Optional<LeaderboardSnapshot> snapshot = gameService.getTopSnapshot(period);
+            if (snapshot.isPresent()) {
+                return snapshotResponse(snapshot.get(), ifNoneMatch, acceptEncoding);
+            }
+        }
+
+        LeaderboardPage page = gameService.getTopPlayers(period, limit, cursor);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.players());
+    }
+
+    private ResponseEntity<?> snapshotResponse(LeaderboardSnapshot snapshot, String ifNoneMatch, String acceptEncoding) {
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, snapshot.nextCursor());
+        }
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    @GetMapping(value = "/top/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream leaderboard", description = "Server-Sent Events stream: a 'snapshot' event with the top players, then 'delta' events with changed ranks and removed players, coalesced into a few ticks per second.")
+    @ApiResponse(responseCode = "200", description = "Stream opened")
+    public SseEmitter streamTopPlayers(
+            @Parameter(description = "all_time (default), daily, weekly or monthly") @RequestParam(required = false) String period) {
+        return leaderboardStream.subscribe(LeaderboardPeriod.from(period));
+    }
+
+    @GetMapping("/rank")
+    @Operation(summary = "Get player rank", description = "Returns the authenticated user's leaderboard rank, percentile and the players directly above and below.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponse(responseCode = "200", description = "Rank retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "User has not played in the period yet")
+    public ResponseEntity<PlayerRank> getPlayerRank(
+            @Parameter(hidden = true) @RequestHeader("X-User-Id") Long userId,
+            @Parameter(description = "all_time (default), daily, weekly or monthly") @RequestParam(required = false) String period,
+            @Parameter(description = "Number of neighbours on each side, capped on the server") @RequestParam(required = false) Integer window) {
+        return ResponseEntity.ok(gameService.getPlayerRank(userId, period, window));
+    }
+
+    @GetMapping("/distribution")
+    @Operation(summary = "Get score distribution", description = "Returns best-score and all-score quantiles and the best-score histogram. With score, also returns the percentage of players whose best score is lower.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponse(responseCode = "200", description = "Distribution retrieved successfully")
+    public ResponseEntity<ScoreDistributionView> getDistribution(
+            @Parameter(description = "Score to place within the distribution") @RequestParam(required = false) Integer score) {
+        return ResponseEntity.ok(gameService.getDistribution(score));
     }
 
     @GetMapping("/stats")
@@ -48,10 +151,28 @@ public class GameController {
     }
 
     @GetMapping("/history")
-    @Operation(summary = "Get score history", description = "Returns the history of scores for the authenticated user.")
+    @Operation(summary = "Get score history", description = "Returns a page of the authenticated user's scores, newest first. Pass the X-Next-Cursor header of the previous page as cursor to get the next one.")
     @SecurityRequirement(name = "bearerAuth")
     @ApiResponse(responseCode = "200", description = "History retrieved successfully")
-    public ResponseEntity<List<Score>> getUserHistory(@Parameter(hidden = true) @RequestHeader("X-User-Id") Long userId) {
-        return ResponseEntity.ok(gameService.getUserHistory(userId));
+    public ResponseEntity<List<ScoreHistoryEntry>> getUserHistory(
+            @Parameter(hidden = true) @RequestHeader("X-User-Id") Long userId,
+            @Parameter(description = "Page size, capped on the server") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Opaque cursor from the previous page") @RequestParam(required = false) String cursor) {
+        HistoryPage page = gameService.getUserHistory(userId, limit, cursor);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.entries());
+    }
+
+    @GetMapping(value = "/history/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream full score history", description = "Streams every score of the authenticated user, newest first, as newline-delimited JSON while rows are fetched.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponse(responseCode = "200", description = "History streamed successfully")
+    public ResponseEntity<StreamingResponseBody> streamUserHistory(@Parameter(hidden = true) @RequestHeader("X-User-Id") Long userId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> gameService.streamUserHistory(userId, output));
     }
 }
@@ -0,0 +1,37 @@
+package com.cubecrush.game.web;
+
+import com.cubecrush.game.service.ScoreDistribution;
+import com.cubecrush.game.service.ScoreImporter;
+import com.cubecrush.game.web.dto.DistributionSketch;
+import com.cubecrush.game.web.dto.ScoreImportResult;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@Hidden
+@RestController
+@RequestMapping("/api/v1/system/game")
+@RequiredArgsConstructor
+public class GameSystemController {
+    private final ScoreDistribution scoreDistribution;
+    private final ScoreImporter scoreImporter;
+
+    @GetMapping("/distribution/sketch")
+    public DistributionSketch getDistributionSketch() {
+        return scoreDistribution.sketch();
+    }
+
+    @PostMapping(value = "/scores/import", consumes = "text/csv")
+    public ScoreImportResult importCsv(HttpServletRequest request) throws IOException {
+        return scoreImporter.importScores(request.getInputStream(), ScoreImporter.Format.CSV);
+    }
+
+    @PostMapping(value = "/scores/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ScoreImportResult importNdjson(HttpServletRequest request) throws IOException {
+        return scoreImporter.importScores(request.getInputStream(), ScoreImporter.Format.NDJSON);
+    }
+}
@@ -0,0 +1,30 @@
+package com.cubecrush.game.web;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class ScoreBatchRequest {
+    @Valid
+    @NotEmpty(message = "Scores are required")
+    @Size(max = 500, message = "A batch cannot contain more than 500 scores")
+    private List<Entry> scores;
+
+    @Data
+    public static class Entry {
+        @NotNull(message = "Score is required")
+        @Min(value = 0, message = "Score cannot be negative")
+        private Integer score;
+
+        @PastOrPresent(message = "Score time cannot be in the future")
+        private LocalDateTime achievedAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.cubecrush.game.web;
+
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.model.TopPlayer;
+import com.cubecrush.game.service.LeaderboardPeriod;
+import com.cubecrush.game.service.ShardedLeaderboard;
+import com.cubecrush.game.web.dto.ShardSlice;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Hidden
+@RestController
+@RequestMapping("/api/v1/system/game/shard")
+@RequiredArgsConstructor
+public class ShardController {
+    private final ShardedLeaderboard shardedLeaderboard;
+
+    @GetMapping("/top")
+    public List<TopPlayer> getTop(@RequestParam LeaderboardPeriod period,
+                                  @RequestParam int limit,
+                                  @RequestParam(required = false) String cursor) {
+        return shardedLeaderboard.localTop(period, cursor, limit);
+    }
+
+    @GetMapping("/entry")
+    public TopPlayer getEntry(@RequestParam LeaderboardPeriod period, @RequestParam Long userId) {
+        return shardedLeaderboard.localEntry(period, userId)
+                .orElseThrow(() -> new GameException("GAME_PLAYER_NOT_RANKED", HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/slice")
+    public ShardSlice getSlice(@RequestParam LeaderboardPeriod period,
+                               @RequestParam int score,
+                               @RequestParam long userId,
+                               @RequestParam int window) {
+        return shardedLeaderboard.localSlice(period, score, userId, window);
+    }
+}
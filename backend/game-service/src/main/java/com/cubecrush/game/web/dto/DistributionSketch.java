@@ -0,0 +1,6 @@
+package com.cubecrush.game.web.dto;
+
+public record DistributionSketch(
+        String bestScores,
+        String allScores
+) {}
@@ -0,0 +1,8 @@
+package com.cubecrush.game.web.dto;
+
+import java.util.List;
+
+public record HistoryPage(
+        List<ScoreHistoryEntry> entries,
+        String nextCursor
+) {}
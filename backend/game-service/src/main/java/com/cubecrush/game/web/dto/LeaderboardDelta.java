@@ -0,0 +1,10 @@
+package com.cubecrush.game.web.dto;
+
+import java.util.List;
+
+public record LeaderboardDelta(
+        List<RankChange> changed,
+        List<Long> removed
+) {
+    public record RankChange(int rank, Long userId, String nickname, Integer score) {}
+}
@@ -0,0 +1,10 @@
+package com.cubecrush.game.web.dto;
+
+import com.cubecrush.game.model.TopPlayer;
+
+import java.util.List;
+
+public record LeaderboardPage(
+        List<TopPlayer> players,
+        String nextCursor
+) {}
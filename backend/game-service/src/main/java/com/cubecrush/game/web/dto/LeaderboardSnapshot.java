@@ -0,0 +1,24 @@
+package com.cubecrush.game.web.dto;
+
+public record LeaderboardSnapshot(
+        String etag,
+        byte[] json,
+        byte[] gzip,
+        String nextCursor
+) {
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cubecrush.game.web.dto;
+
+import com.cubecrush.game.model.TopPlayer;
+
+import java.util.List;
+
+public record PlayerRank(
+        Long userId,
+        int rank,
+        int totalPlayers,
+        double percentile,
+        Integer score,
+        List<TopPlayer> above,
+        List<TopPlayer> below
+) {
+    public static PlayerRank of(TopPlayer player, int rank, int totalPlayers,
+                                List<TopPlayer> above, List<TopPlayer> below) {
+        double percentile = totalPlayers <= 1
+                ? 100.0
+                : Math.round((totalPlayers - rank) * 1000.0 / (totalPlayers - 1)) / 10.0;
+        return new PlayerRank(player.getId(), rank, totalPlayers, percentile, player.getScore(), above, below);
+    }
+}
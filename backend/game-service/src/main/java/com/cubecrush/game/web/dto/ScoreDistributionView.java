@@ -0,0 +1,15 @@
+package com.cubecrush.game.web.dto;
+
+import com.cubecrush.game.util.ScoreHistogram;
+
+import java.util.List;
+import java.util.Map;
+
+public record ScoreDistributionView(
+        long players,
+        long games,
+        Map<String, Integer> bestScoreQuantiles,
+        Map<String, Integer> scoreQuantiles,
+        Double percentile,
+        List<ScoreHistogram.Bucket> histogram
+) {}
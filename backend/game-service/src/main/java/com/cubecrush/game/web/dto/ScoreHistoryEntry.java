@@ -0,0 +1,9 @@
+package com.cubecrush.game.web.dto;
+
+import java.time.LocalDateTime;
+
+public record ScoreHistoryEntry(
+        Long id,
+        Integer score,
+        LocalDateTime achievedAt
+) {}
@@ -0,0 +1,7 @@
+package com.cubecrush.game.web.dto;
+
+public record ScoreImportResult(
+        long imported,
+        long users,
+        long durationMs
+) {}
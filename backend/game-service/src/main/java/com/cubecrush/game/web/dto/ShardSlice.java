@@ -0,0 +1,12 @@
+package com.cubecrush.game.web.dto;
+
+import com.cubecrush.game.model.TopPlayer;
+
+import java.util.List;
+
+public record ShardSlice(
+        int before,
+        int size,
+        List<TopPlayer> above,
+        List<TopPlayer> below
+) {}
@@ -0,0 +1,63 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.web.dto.ScoreHistoryEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HistoryCursorTest {
+
+    private static final LocalDateTime ACHIEVED_AT = LocalDateTime.of(2024, 3, 5, 14, 30, 15, 123_456_000);
+
+    @Test
+    void encodedCursorRoundTrips() {
+        HistoryCursor cursor = new HistoryCursor(ACHIEVED_AT, 99L);
+
+        assertEquals(cursor, HistoryCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void wholeMinuteTimestampRoundTrips() {
+        HistoryCursor cursor = new HistoryCursor(LocalDateTime.of(2024, 1, 1, 0, 0), 1L);
+
+        assertEquals(cursor, HistoryCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void nextPointsAtLastEntryOfFullPage() {
+        List<ScoreHistoryEntry> page = List.of(
+                new ScoreHistoryEntry(12L, 400, ACHIEVED_AT.plusMinutes(1)),
+                new ScoreHistoryEntry(10L, 300, ACHIEVED_AT));
+
+        String next = HistoryCursor.next(page, 2);
+
+        assertEquals(new HistoryCursor(ACHIEVED_AT, 10L), HistoryCursor.decode(next));
+    }
+
+    @Test
+    void shortPageHasNoNextCursor() {
+        assertNull(HistoryCursor.next(List.of(new ScoreHistoryEntry(1L, 10, ACHIEVED_AT)), 2));
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() {
+        for (String cursor : List.of("%%%", encode("2024-03-05T14:30"), encode("yesterday|5"), encode(ACHIEVED_AT + "|x"))) {
+            GameException e = assertThrows(GameException.class, () -> HistoryCursor.decode(cursor));
+            assertEquals("GAME_INVALID_CURSOR", e.getLocalizationKey());
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,66 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.model.TopPlayer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LeaderboardCursorTest {
+
+    @Test
+    void encodedCursorRoundTrips() {
+        LeaderboardCursor cursor = new LeaderboardCursor(1500, 42L);
+
+        assertEquals(cursor, LeaderboardCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void negativeScoreRoundTrips() {
+        LeaderboardCursor cursor = new LeaderboardCursor(-3, Long.MAX_VALUE);
+
+        assertEquals(cursor, LeaderboardCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void nextPointsAtLastPlayerOfFullPage() {
+        List<TopPlayer> page = List.of(player(7L, 900), player(3L, 850));
+
+        String next = LeaderboardCursor.next(page, 2);
+
+        assertEquals(new LeaderboardCursor(850, 3L), LeaderboardCursor.decode(next));
+    }
+
+    @Test
+    void shortPageHasNoNextCursor() {
+        assertNull(LeaderboardCursor.next(List.of(player(7L, 900)), 2));
+        assertNull(LeaderboardCursor.next(List.of(), 2));
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() {
+        for (String cursor : List.of("not base64!", encode("1500"), encode("abc:42"), encode("1500:"), "")) {
+            GameException e = assertThrows(GameException.class, () -> LeaderboardCursor.decode(cursor));
+            assertEquals("GAME_INVALID_CURSOR", e.getLocalizationKey());
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        }
+    }
+
+    private static TopPlayer player(Long id, int score) {
+        TopPlayer player = new TopPlayer();
+        player.setId(id);
+        player.setScore(score);
+        return player;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
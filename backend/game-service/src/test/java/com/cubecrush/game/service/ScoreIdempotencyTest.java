@@ -0,0 +1,150 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.model.Score;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScoreIdempotencyTest {
+
+    private final Map<String, Score> keys = new HashMap<>();
+    private final FakeWriter writer = new FakeWriter();
+    private ScoreIdempotency idempotency;
+
+    @BeforeEach
+    void setUp() {
+        idempotency = newIdempotency();
+    }
+
+    @Test
+    void firstSubmissionWritesScore() {
+        Score saved = idempotency.submit("key-1", score(1L, 500));
+
+        assertEquals(500, saved.getScore());
+        assertEquals(1, writer.writes);
+    }
+
+    @Test
+    void replayReturnsOriginalScoreWithoutWriting() {
+        Score first = idempotency.submit("key-1", score(1L, 500));
+        Score replay = idempotency.submit("key-1", score(1L, 500));
+
+        assertEquals(first.getId(), replay.getId());
+        assertEquals(first.getAchievedAt(), replay.getAchievedAt());
+        assertEquals(1, writer.writes);
+    }
+
+    @Test
+    void replayOnAnotherInstanceReadsStoredKey() {
+        Score first = idempotency.submit("key-1", score(1L, 500));
+
+        Score replay = newIdempotency().submit("key-1", score(1L, 500));
+
+        assertEquals(first.getId(), replay.getId());
+        assertEquals(1, writer.writes);
+    }
+
+    @Test
+    void reusingKeyForDifferentScoreIsRejected() {
+        idempotency.submit("key-1", score(1L, 500));
+
+        assertStatus(HttpStatus.UNPROCESSABLE_ENTITY, "GAME_IDEMPOTENCY_KEY_REUSED",
+                () -> idempotency.submit("key-1", score(1L, 700)));
+        assertStatus(HttpStatus.UNPROCESSABLE_ENTITY, "GAME_IDEMPOTENCY_KEY_REUSED",
+                () -> newIdempotency().submit("key-1", score(1L, 700)));
+        assertEquals(1, writer.writes);
+    }
+
+    @Test
+    void keysAreScopedPerUser() {
+        Score first = idempotency.submit("key-1", score(1L, 500));
+        Score other = idempotency.submit("key-1", score(2L, 700));
+
+        assertEquals(700, other.getScore());
+        assertEquals(2, writer.writes);
+        assertEquals(first.getId() + 1, other.getId());
+    }
+
+    @Test
+    void keyClaimedByUnfinishedWriteIsConflict() {
+        keys.put(1 + ":key-1", null);
+
+        assertStatus(HttpStatus.CONFLICT, "GAME_IDEMPOTENCY_CONFLICT",
+                () -> idempotency.submit("key-1", score(1L, 500)));
+    }
+
+    @Test
+    void blankOrOverlongKeyIsBadRequest() {
+        assertStatus(HttpStatus.BAD_REQUEST, "GAME_INVALID_IDEMPOTENCY_KEY",
+                () -> idempotency.submit(" ", score(1L, 500)));
+        assertStatus(HttpStatus.BAD_REQUEST, "GAME_INVALID_IDEMPOTENCY_KEY",
+                () -> idempotency.submit("k".repeat(129), score(1L, 500)));
+        assertEquals(0, writer.writes);
+    }
+
+    private ScoreIdempotency newIdempotency() {
+        ScoreIdempotency created = new ScoreIdempotency(writer, new FakeJdbcTemplate());
+        ReflectionTestUtils.setField(created, "maxSize", 100L);
+        ReflectionTestUtils.setField(created, "ttlMs", 60_000L);
+        created.init();
+        return created;
+    }
+
+    private static void assertStatus(HttpStatus status, String key, Runnable submit) {
+        GameException e = assertThrows(GameException.class, submit::run);
+        assertEquals(status, e.getStatus());
+        assertEquals(key, e.getLocalizationKey());
+    }
+
+    private static Score score(Long userId, int value) {
+        Score score = new Score();
+        score.setUserId(userId);
+        score.setScore(value);
+        return score;
+    }
+
+    private class FakeWriter extends ScoreWriter {
+        private long ids;
+        private int writes;
+
+        FakeWriter() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public Optional<Score> writeOnce(Score score, String idempotencyKey) {
+            String key = score.getUserId() + ":" + idempotencyKey;
+            if (keys.containsKey(key)) {
+                return Optional.empty();
+            }
+            writes++;
+            score.setId(++ids);
+            score.setAchievedAt(LocalDateTime.now());
+            keys.put(key, score);
+            return Optional.of(score);
+        }
+    }
+
+    private class FakeJdbcTemplate extends JdbcTemplate {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            Score stored = keys.get(args[0] + ":" + args[1]);
+            return stored == null ? List.of() : List.of((T) stored);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import com.cubecrush.game.model.Score;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreWriteBufferTest {
+
+    private static final int POISON = 13;
+
+    private final FakeWriter writer = new FakeWriter();
+    private ScoreWriteBuffer buffer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.release.countDown();
+        if (buffer != null) {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void submittedScoreCompletesWithSavedScore() {
+        start(5, 10, 100, 5000);
+
+        Score saved = buffer.submit(score(1L, 500)).join();
+
+        assertNotNull(saved.getId());
+        assertEquals(500, saved.getScore());
+    }
+
+    @Test
+    void fullQueueFailsSubmissionImmediately() throws InterruptedException {
+        writer.blocking = true;
+        start(0, 10, 1, 5000);
+
+        CompletableFuture<Score> inFlight = buffer.submit(score(1L, 100));
+        assertTrue(writer.entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Score> queued = buffer.submit(score(2L, 200));
+        CompletableFuture<Score> rejected = buffer.submit(score(3L, 300));
+
+        assertUnavailable(rejected);
+        writer.release.countDown();
+        assertEquals(100, inFlight.join().getScore());
+        assertEquals(200, queued.join().getScore());
+    }
+
+    @Test
+    void slowWriteTimesOutAsUnavailable() throws InterruptedException {
+        writer.blocking = true;
+        start(0, 10, 100, 50);
+
+        CompletableFuture<Score> pending = buffer.submit(score(1L, 100));
+        assertTrue(writer.entered.await(5, TimeUnit.SECONDS));
+
+        assertUnavailable(pending);
+    }
+
+    @Test
+    void failedBatchIsRetriedOneByOne() {
+        start(1000, 3, 100, 5000);
+
+        CompletableFuture<Score> first = buffer.submit(score(1L, 100));
+        CompletableFuture<Score> poisoned = buffer.submit(score(2L, POISON));
+        CompletableFuture<Score> third = buffer.submit(score(3L, 300));
+
+        assertEquals(100, first.join().getScore());
+        assertEquals(300, third.join().getScore());
+        CompletionException e = assertThrows(CompletionException.class, poisoned::join);
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+        assertEquals(List.of(3, 1, 1, 1), writer.batchSizes);
+    }
+
+    @Test
+    void flusherDeathFailsInFlightAndQueuedScores() throws InterruptedException {
+        writer.blocking = true;
+        writer.error = new LinkageError("flusher died");
+        start(0, 10, 100, 5000);
+
+        CompletableFuture<Score> inFlight = buffer.submit(score(1L, 100));
+        assertTrue(writer.entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Score> queued = buffer.submit(score(2L, 200));
+        writer.release.countDown();
+
+        assertUnavailable(inFlight);
+        assertUnavailable(queued);
+        assertUnavailable(buffer.submit(score(3L, 300)));
+    }
+
+    @Test
+    void stopFlushesQueuedScoresAndRejectsNewOnes() throws InterruptedException {
+        start(1000, 10, 100, 5000);
+
+        CompletableFuture<Score> pending = buffer.submit(score(1L, 100));
+        buffer.stop();
+
+        assertEquals(100, pending.join().getScore());
+        assertUnavailable(buffer.submit(score(2L, 200)));
+    }
+
+    private void start(long lingerMs, int maxBatchSize, int queueCapacity, long submitTimeoutMs) {
+        buffer = new ScoreWriteBuffer(writer);
+        ReflectionTestUtils.setField(buffer, "enabled", true);
+        ReflectionTestUtils.setField(buffer, "lingerMs", lingerMs);
+        ReflectionTestUtils.setField(buffer, "maxBatchSize", maxBatchSize);
+        ReflectionTestUtils.setField(buffer, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(buffer, "submitTimeoutMs", submitTimeoutMs);
+        buffer.start();
+    }
+
+    private static void assertUnavailable(CompletableFuture<Score> future) {
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        GameException cause = (GameException) e.getCause();
+        assertEquals("GAME_SCORE_WRITE_UNAVAILABLE", cause.getLocalizationKey());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, cause.getStatus());
+    }
+
+    private static Score score(Long userId, int value) {
+        Score score = new Score();
+        score.setUserId(userId);
+        score.setScore(value);
+        return score;
+    }
+
+    private static class FakeWriter extends ScoreWriter {
+        private final AtomicLong ids = new AtomicLong();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private volatile boolean blocking;
+        private volatile Error error;
+
+        FakeWriter() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public List<Score> write(List<Score> scores) {
+            batchSizes.add(scores.size());
+            if (blocking) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (error != null) {
+                throw error;
+            }
+            if (scores.stream().anyMatch(score -> score.getScore() == POISON)) {
+                throw new IllegalStateException("constraint violation");
+            }
+            scores.forEach(score -> score.setId(ids.incrementAndGet()));
+            return scores;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.cubecrush.game.service;
+
+import com.cubecrush.game.exception.GameException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardClientTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ShardClient client;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        client.stop();
+    }
+
+    @Test
+    void resultsFollowShardOrder() {
+        client = client(3, 200, 4, 4);
+
+        assertEquals(List.of("shard-0", "shard-1", "shard-2"), client.fanOut(shard -> "shard-" + shard));
+    }
+
+    @Test
+    void slowShardFailsTheReadAfterTheShardTimeout() {
+        client = client(3, 100, 4, 4);
+
+        long startTime = System.nanoTime();
+        GameException error = assertThrows(GameException.class, () -> client.fanOut(shard -> {
+            if (shard == 1) {
+                await();
+            }
+            return shard;
+        }));
+
+        assertUnavailable(error);
+        assertTrue(System.nanoTime() - startTime < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    void saturatedPoolFailsTheReadInsteadOfQueueingIt() {
+        client = client(4, 5000, 1, 1);
+
+        GameException error = assertThrows(GameException.class, () -> client.fanOut(shard -> {
+            await();
+            return shard;
+        }));
+
+        assertUnavailable(error);
+    }
+
+    @Test
+    void failingShardFailsTheRead() {
+        client = client(2, 200, 4, 4);
+
+        GameException error = assertThrows(GameException.class, () -> client.fanOut(shard -> {
+            if (shard == 0) {
+                throw new IllegalStateException("No instance registered for shard 0");
+            }
+            return shard;
+        }));
+
+        assertUnavailable(error);
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void assertUnavailable(GameException error) {
+        assertEquals("GAME_LEADERBOARD_UNAVAILABLE", error.getLocalizationKey());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, error.getStatus());
+    }
+
+    private static ShardClient client(int shards, long shardTimeoutMs, int threads, int queueCapacity) {
+        ShardRouter shardRouter = new ShardRouter();
+        ReflectionTestUtils.setField(shardRouter, "count", shards);
+        return new ShardClient(null, shardRouter, 500, 2000, shardTimeoutMs, threads, queueCapacity);
+    }
+}
@@ -0,0 +1,144 @@
+package com.cubecrush.game.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RankTreeTest {
+
+    private static final Comparator<Entry> LEADERBOARD_ORDER =
+            Comparator.comparingInt(Entry::score).reversed().thenComparingLong(Entry::userId);
+
+    @Test
+    void ranksByComparatorOrder() {
+        RankTree<Entry> tree = new RankTree<>(LEADERBOARD_ORDER);
+        tree.add(new Entry(1, 100));
+        tree.add(new Entry(2, 300));
+        tree.add(new Entry(3, 200));
+
+        assertEquals(3, tree.size());
+        assertEquals(0, tree.rankOf(new Entry(2, 300)));
+        assertEquals(1, tree.rankOf(new Entry(3, 200)));
+        assertEquals(2, tree.rankOf(new Entry(1, 100)));
+        assertEquals(new Entry(2, 300), tree.get(0));
+        assertEquals(new Entry(1, 100), tree.get(2));
+    }
+
+    @Test
+    void equalScoresAreOrderedByUserId() {
+        RankTree<Entry> tree = new RankTree<>(LEADERBOARD_ORDER);
+        tree.add(new Entry(9, 500));
+        tree.add(new Entry(4, 500));
+        tree.add(new Entry(7, 500));
+
+        assertEquals(List.of(new Entry(4, 500), new Entry(7, 500), new Entry(9, 500)), tree.range(0, 3));
+        assertEquals(1, tree.rankOf(new Entry(7, 500)));
+    }
+
+    @Test
+    void tiesUnderComparatorShareRankAndCount() {
+        RankTree<Integer> tree = new RankTree<>(Comparator.reverseOrder());
+        for (int score : new int[] {50, 80, 80, 80, 20}) {
+            tree.add(score);
+        }
+
+        assertEquals(0, tree.rankOf(80));
+        assertEquals(3, tree.countUpTo(80));
+        assertEquals(3, tree.rankOf(50));
+        assertEquals(4, tree.countUpTo(50));
+        assertEquals(3, tree.rankOf(60));
+        assertEquals(3, tree.countUpTo(60));
+        assertEquals(5, tree.rankOf(10));
+    }
+
+    @Test
+    void rangeReturnsSliceAndClampsAtEnd() {
+        RankTree<Integer> tree = new RankTree<>(Comparator.naturalOrder());
+        for (int i = 9; i >= 0; i--) {
+            tree.add(i);
+        }
+
+        assertEquals(List.of(3, 4, 5), tree.range(3, 3));
+        assertEquals(List.of(8, 9), tree.range(8, 5));
+        assertTrue(tree.range(10, 5).isEmpty());
+        assertTrue(tree.range(-1, 5).isEmpty());
+        assertTrue(tree.range(0, 0).isEmpty());
+    }
+
+    @Test
+    void removeDropsOnlyOneOfEqualValues() {
+        RankTree<Integer> tree = new RankTree<>(Comparator.naturalOrder());
+        tree.add(5);
+        tree.add(5);
+        tree.add(7);
+
+        assertTrue(tree.remove(5));
+        assertEquals(List.of(5, 7), tree.range(0, 3));
+        assertFalse(tree.remove(6));
+        assertEquals(2, tree.size());
+    }
+
+    @Test
+    void removeAndReinsertMovesEntry() {
+        RankTree<Entry> tree = new RankTree<>(LEADERBOARD_ORDER);
+        tree.add(new Entry(1, 100));
+        tree.add(new Entry(2, 200));
+        tree.add(new Entry(3, 300));
+
+        assertTrue(tree.remove(new Entry(1, 100)));
+        tree.add(new Entry(1, 400));
+
+        assertEquals(3, tree.size());
+        assertEquals(0, tree.rankOf(new Entry(1, 400)));
+        assertEquals(2, tree.rankOf(new Entry(2, 200)));
+        assertFalse(tree.remove(new Entry(1, 100)));
+    }
+
+    @Test
+    void getRejectsOutOfRangeIndex() {
+        RankTree<Integer> tree = new RankTree<>(Comparator.naturalOrder());
+        tree.add(1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(-1));
+    }
+
+    @Test
+    void matchesSortedListUnderRandomUpdates() {
+        RankTree<Integer> tree = new RankTree<>(Comparator.naturalOrder());
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            int value = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(Integer.valueOf(value)), tree.remove(value));
+            } else {
+                tree.add(value);
+                expected.add(value);
+            }
+        }
+        expected.sort(null);
+
+        assertEquals(expected.size(), tree.size());
+        assertEquals(expected, tree.range(0, expected.size()));
+        for (int value = 0; value < 300; value += 17) {
+            int firstIndex = 0;
+            while (firstIndex < expected.size() && expected.get(firstIndex) < value) {
+                firstIndex++;
+            }
+            assertEquals(firstIndex, tree.rankOf(value));
+        }
+        tree.clear();
+        assertEquals(0, tree.size());
+    }
+
+    private record Entry(long userId, int score) {}
+}
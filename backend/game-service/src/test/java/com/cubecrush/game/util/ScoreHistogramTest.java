@@ -0,0 +1,157 @@
+package com.cubecrush.game.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreHistogramTest {
+
+    private static final int LAST_BUCKET = ScoreHistogram.indexOf(Integer.MAX_VALUE);
+
+    @Test
+    void smallValuesHaveExactBuckets() {
+        for (int value = 0; value < 64; value++) {
+            int index = ScoreHistogram.indexOf(value);
+            assertEquals(value, index);
+            assertEquals(value, ScoreHistogram.lowerBound(index));
+            assertEquals(value, ScoreHistogram.upperBound(index));
+        }
+    }
+
+    @Test
+    void firstLogBucketStartsAfterLinearRange() {
+        int index = ScoreHistogram.indexOf(64);
+
+        assertEquals(64, index);
+        assertEquals(64, ScoreHistogram.lowerBound(index));
+        assertEquals(65, ScoreHistogram.upperBound(index));
+        assertEquals(index, ScoreHistogram.indexOf(65));
+        assertEquals(index + 1, ScoreHistogram.indexOf(66));
+    }
+
+    @Test
+    void bucketsAreContiguousUpToMaxValue() {
+        for (int index = 0; index < LAST_BUCKET; index++) {
+            assertEquals(ScoreHistogram.upperBound(index) + 1, ScoreHistogram.lowerBound(index + 1), "after bucket " + index);
+        }
+        assertEquals(Integer.MAX_VALUE, ScoreHistogram.upperBound(LAST_BUCKET));
+    }
+
+    @Test
+    void boundsMapBackToTheirBucket() {
+        for (int index = 0; index <= LAST_BUCKET; index++) {
+            assertEquals(index, ScoreHistogram.indexOf(ScoreHistogram.lowerBound(index)));
+            assertEquals(index, ScoreHistogram.indexOf(ScoreHistogram.upperBound(index)));
+        }
+    }
+
+    @Test
+    void relativeBucketWidthIsAtMostOneThirtySecond() {
+        for (int index = 64; index <= LAST_BUCKET; index++) {
+            long lower = ScoreHistogram.lowerBound(index);
+            long width = (long) ScoreHistogram.upperBound(index) - lower + 1;
+            assertTrue(width * 32 <= lower, "bucket " + index + " is too wide");
+        }
+    }
+
+    @Test
+    void negativeValuesFallIntoFirstBucket() {
+        assertEquals(0, ScoreHistogram.indexOf(-7));
+    }
+
+    @Test
+    void quantilesAreExactInLinearRange() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        for (int value = 1; value <= 60; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(30, histogram.quantile(0.5));
+        assertEquals(1, histogram.quantile(0.0));
+        assertEquals(60, histogram.quantile(1.0));
+        assertEquals(0, new ScoreHistogram().quantile(0.5));
+    }
+
+    @Test
+    void quantileReturnsBucketMidpointForLargeValues() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.record(1000);
+        int index = ScoreHistogram.indexOf(1000);
+        int lower = ScoreHistogram.lowerBound(index);
+        int upper = ScoreHistogram.upperBound(index);
+
+        assertEquals(lower + (upper - lower) / 2, histogram.quantile(0.5));
+    }
+
+    @Test
+    void countBelowExcludesTheValuesOwnBucket() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.record(10);
+        histogram.record(20);
+        histogram.record(20);
+        histogram.record(64);
+        histogram.record(65);
+
+        assertEquals(0, histogram.countBelow(10));
+        assertEquals(1, histogram.countBelow(11));
+        assertEquals(3, histogram.countBelow(64));
+        assertEquals(3, histogram.countBelow(65));
+        assertEquals(5, histogram.countBelow(66));
+    }
+
+    @Test
+    void removeUndoesRecord() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.record(100);
+        histogram.record(100);
+        histogram.remove(100);
+
+        assertEquals(1, histogram.count());
+        assertEquals(1, histogram.buckets().get(0).count());
+    }
+
+    @Test
+    void mergeAddsCountsPerBucket() {
+        ScoreHistogram first = new ScoreHistogram();
+        first.record(5);
+        first.record(1000);
+        ScoreHistogram second = new ScoreHistogram();
+        second.record(5);
+        second.record(70);
+
+        first.merge(second);
+
+        assertEquals(4, first.count());
+        List<ScoreHistogram.Bucket> buckets = first.buckets();
+        assertEquals(3, buckets.size());
+        assertEquals(new ScoreHistogram.Bucket(5, 5, 2), buckets.get(0));
+        assertEquals(70, buckets.get(1).from());
+        assertEquals(1, buckets.get(1).count());
+        assertEquals(2, second.count());
+    }
+
+    @Test
+    void serializedHistogramRoundTrips() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(3, 4);
+        histogram.add(5000, 2);
+        histogram.record(Integer.MAX_VALUE);
+
+        ScoreHistogram copy = ScoreHistogram.fromBytes(histogram.toBytes());
+
+        assertEquals(histogram.count(), copy.count());
+        assertEquals(histogram.buckets(), copy.buckets());
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        byte[] bytes = new ScoreHistogram().toBytes();
+        bytes[3] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> ScoreHistogram.fromBytes(bytes));
+    }
+}
@@ -0,0 +1,50 @@
+package com.cubecrush.game.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopNMergeTest {
+
+    private static final Comparator<Integer> DESCENDING = Comparator.reverseOrder();
+
+    @Test
+    void mergesSortedListsUpToLimit() {
+        List<Integer> merged = TopNMerge.merge(
+                List.of(List.of(90, 60, 10), List.of(80, 70), List.of(100, 5)), DESCENDING, 4);
+
+        assertEquals(List.of(100, 90, 80, 70), merged);
+    }
+
+    @Test
+    void returnsEverythingWhenLimitExceedsInput() {
+        List<Integer> merged = TopNMerge.merge(List.of(List.of(3, 1), List.of(2)), DESCENDING, 10);
+
+        assertEquals(List.of(3, 2, 1), merged);
+    }
+
+    @Test
+    void keepsDuplicatesFromDifferentLists() {
+        List<Integer> merged = TopNMerge.merge(List.of(List.of(50, 40), List.of(50, 30)), DESCENDING, 3);
+
+        assertEquals(List.of(50, 50, 40), merged);
+    }
+
+    @Test
+    void skipsEmptyLists() {
+        List<Integer> merged = TopNMerge.merge(List.of(List.of(), List.of(7), List.of()), DESCENDING, 2);
+
+        assertEquals(List.of(7), merged);
+    }
+
+    @Test
+    void nonPositiveLimitReturnsEmpty() {
+        assertTrue(TopNMerge.merge(List.of(List.of(1)), DESCENDING, 0).isEmpty());
+        assertTrue(TopNMerge.merge(List.of(List.of(1)), DESCENDING, -1).isEmpty());
+        assertTrue(TopNMerge.merge(List.<List<Integer>>of(), DESCENDING, 5).isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+package com.cubecrush.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Thin client for the public gateway API described in docs/openapi.json.
+ */
+public class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    public ApiClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public CompletableFuture<HttpResponse<String>> send(Operation operation, VirtualUser user) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + operation.path()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        switch (operation) {
+            case REGISTER, LOGIN -> request.POST(json(Map.of("nickname", user.nickname(), "password", user.password())));
+            case SCORE -> request.POST(json(Map.of("score", ThreadLocalRandom.current().nextInt(0, 100_000))));
+            case TOP, STATS -> request.GET();
+        }
+        if ("POST".equals(operation.method())) {
+            request.header("Content-Type", "application/json");
+        }
+        if (operation != Operation.REGISTER && operation != Operation.LOGIN && user.accessToken() != null) {
+            request.header("Authorization", "Bearer " + user.accessToken());
+        }
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public String accessToken(HttpResponse<String> response) {
+        try {
+            JsonNode token = objectMapper.readTree(response.body()).get("accessToken");
+            return token == null ? null : token.asText();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode request body", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.cubecrush.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency in microseconds, recorded into HDR interval recorders so a report can be
+ * cut at any point (end of setup, end of warmup, end of run) without stopping the load.
+ */
+public class LatencyStats {
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final LongAdder dropped = new LongAdder();
+
+    public LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public void record(Operation operation, long latencyNanos, boolean ok) {
+        recorders.get(operation).recordValue(Math.max(1, latencyNanos / 1_000));
+        if (!ok) {
+            errors.get(operation).increment();
+        }
+    }
+
+    public void dropped() {
+        dropped.increment();
+    }
+
+    public void reset() {
+        interval(1);
+    }
+
+    public Report interval(double seconds) {
+        List<Row> rows = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            long failed = errors.get(operation).sumThenReset();
+            long requests = histogram.getTotalCount();
+            if (requests == 0) {
+                continue;
+            }
+            rows.add(new Row(operation.label(), requests, failed, requests / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        }
+        return new Report(seconds, dropped.sumThenReset(), rows);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    public record Row(String endpoint, long requests, long errors, double throughput,
+                      double p50Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    public record Report(double seconds, long dropped, List<Row> rows) {
+
+        public String format(String title) {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format(Locale.ROOT, "%n== %s (%.1fs) ==%n", title, seconds));
+            out.append(String.format(Locale.ROOT, "%-10s %10s %8s %10s %10s %10s %10s %10s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+            for (Row row : rows) {
+                out.append(String.format(Locale.ROOT, "%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                        row.endpoint(), row.requests(), row.errors(), row.throughput(),
+                        row.p50Ms(), row.p99Ms(), row.p999Ms(), row.maxMs()));
+            }
+            if (dropped > 0) {
+                out.append(String.format(Locale.ROOT, "dropped arrivals (max-in-flight reached): %d%n", dropped));
+            }
+            return out.toString();
+        }
+    }
+}
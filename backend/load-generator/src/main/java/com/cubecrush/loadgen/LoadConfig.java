@@ -0,0 +1,82 @@
+package com.cubecrush.loadgen;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, given as {@code --name=value}. See docs/LOAD_TESTING.md.
+ */
+public record LoadConfig(
+        String baseUrl,
+        Mode mode,
+        int users,
+        double rate,
+        Arrival arrival,
+        int maxInFlight,
+        Duration thinkTime,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        String runId,
+        String reportFile
+) {
+
+    public enum Mode { OPEN, CLOSED }
+
+    public enum Arrival { POISSON, UNIFORM }
+
+    private static final String DEFAULT_MIX = "score:60,top:25,stats:15";
+
+    public static LoadConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadConfig config = new LoadConfig(
+                options.getOrDefault("base-url", "http://localhost:8080/api/v1"),
+                Mode.valueOf(options.getOrDefault("mode", "closed").toUpperCase()),
+                Integer.parseInt(options.getOrDefault("users", "50")),
+                Double.parseDouble(options.getOrDefault("rate", "200")),
+                Arrival.valueOf(options.getOrDefault("arrival", "poisson").toUpperCase()),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "1000")),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("think-ms", "0"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                options.getOrDefault("run-id", Long.toString(System.currentTimeMillis(), 36)),
+                options.get("report"));
+        if (config.users < 1 || config.rate <= 0 || config.maxInFlight < 1) {
+            throw new IllegalArgumentException("users, rate and max-in-flight must be positive");
+        }
+        return config;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] entry = part.split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix, got: " + part);
+            }
+            Operation operation = Operation.fromLabel(entry[0]);
+            if (operation == Operation.REGISTER) {
+                throw new IllegalArgumentException("register only runs during setup");
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight > 0) {
+                mix.put(operation, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix must contain at least one operation with a positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,191 @@
+package com.cubecrush.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registers and logs in a pool of users through the gateway, then drives a weighted mix of
+ * score/top/stats/login calls either as a closed model (each user waits for its previous
+ * response) or an open model (arrivals at a fixed rate, latency measured from the intended
+ * send time so queueing is not hidden).
+ */
+public class LoadGenerator {
+
+    private static final int SETUP_CONCURRENCY = 32;
+
+    private final LoadConfig config;
+    private final ApiClient client;
+    private final LatencyStats stats = new LatencyStats();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    public LoadGenerator(LoadConfig config, ApiClient client) {
+        this.config = config;
+        this.client = client;
+        this.operations = config.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.parse(args);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        LoadGenerator generator = new LoadGenerator(config, new ApiClient(httpClient, objectMapper, config.baseUrl()));
+
+        Map<String, LatencyStats.Report> reports = generator.run();
+        if (config.reportFile() != null) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(config.reportFile()), reports);
+            System.out.println("Report written to " + config.reportFile());
+        }
+        System.exit(0);
+    }
+
+    public Map<String, LatencyStats.Report> run() throws InterruptedException {
+        Map<String, LatencyStats.Report> reports = new LinkedHashMap<>();
+        System.out.printf("Target %s, %s model, %d users, mix %s%n", config.baseUrl(), config.mode(), config.users(), config.mix());
+
+        long setupStart = System.nanoTime();
+        List<VirtualUser> users = setUp();
+        LatencyStats.Report setup = stats.interval(seconds(System.nanoTime() - setupStart));
+        System.out.print(setup.format("setup"));
+        reports.put("setup", setup);
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No user could be registered or logged in; is the stack up at " + config.baseUrl() + "?");
+        }
+
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        timer.schedule(stats::reset, config.warmup().toMillis(), TimeUnit.MILLISECONDS);
+        long end = System.nanoTime() + config.warmup().plus(config.duration()).toNanos();
+        if (config.mode() == LoadConfig.Mode.OPEN) {
+            runOpen(users, end);
+        } else {
+            runClosed(users, end);
+        }
+        timer.shutdownNow();
+
+        LatencyStats.Report steady = stats.interval(config.duration().toMillis() / 1000.0);
+        System.out.print(steady.format(config.mode().name().toLowerCase() + " model"));
+        reports.put("run", steady);
+        return reports;
+    }
+
+    private List<VirtualUser> setUp() throws InterruptedException {
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+        List<CompletableFuture<VirtualUser>> pending = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            VirtualUser user = new VirtualUser("lg_" + config.runId() + "_" + i, "loadgen-" + config.runId());
+            permits.acquire();
+            pending.add(execute(Operation.REGISTER, user, System.nanoTime())
+                    .thenCompose(registered -> registered
+                            ? CompletableFuture.completedFuture(true)
+                            : execute(Operation.LOGIN, user, System.nanoTime()))
+                    .handle((ok, error) -> Boolean.TRUE.equals(ok) ? user : null)
+                    .whenComplete((ignored, error) -> permits.release()));
+        }
+        return pending.stream().map(CompletableFuture::join).filter(user -> user != null).toList();
+    }
+
+    private void runClosed(List<VirtualUser> users, long end) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(users.size());
+        for (VirtualUser user : users) {
+            workers.submit(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    execute(pick(), user, System.nanoTime()).join();
+                    if (!config.thinkTime().isZero()) {
+                        LockSupport.parkNanos(config.thinkTime().toNanos());
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()) + 15_000, TimeUnit.MILLISECONDS);
+        workers.shutdownNow();
+    }
+
+    private void runOpen(List<VirtualUser> users, long end) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        double meanIntervalNanos = 1_000_000_000.0 / config.rate();
+        long next = System.nanoTime();
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long intended = next;
+            next += interval(meanIntervalNanos);
+            if (!inFlight.tryAcquire()) {
+                stats.dropped();
+                continue;
+            }
+            VirtualUser user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+            execute(pick(), user, intended).whenComplete((ok, error) -> inFlight.release());
+        }
+        inFlight.tryAcquire(config.maxInFlight(), 15, TimeUnit.SECONDS);
+    }
+
+    private long interval(double meanNanos) {
+        if (config.arrival() == LoadConfig.Arrival.UNIFORM) {
+            return (long) meanNanos;
+        }
+        return (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanNanos);
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private CompletableFuture<Boolean> execute(Operation operation, VirtualUser user, long intendedNanos) {
+        return client.send(operation, user)
+                .handle((response, error) -> {
+                    boolean ok = error == null && response.statusCode() < 400;
+                    stats.record(operation, System.nanoTime() - intendedNanos, ok);
+                    if (ok && (operation == Operation.REGISTER || operation == Operation.LOGIN)) {
+                        String token = client.accessToken(response);
+                        user.accessToken(token);
+                        ok = token != null;
+                    } else if (error == null && response.statusCode() == 401) {
+                        relogin(user);
+                    }
+                    return ok;
+                });
+    }
+
+    private void relogin(VirtualUser user) {
+        if (user.startRelogin()) {
+            execute(Operation.LOGIN, user, System.nanoTime()).whenComplete((ok, error) -> user.finishRelogin());
+        }
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cubecrush.loadgen;
+
+public enum Operation {
+    REGISTER("register", "POST", "/auth/register"),
+    LOGIN("login", "POST", "/auth/login"),
+    SCORE("score", "POST", "/game/score"),
+    TOP("top", "GET", "/game/top"),
+    STATS("stats", "GET", "/game/stats");
+
+    private final String label;
+    private final String method;
+    private final String path;
+
+    Operation(String label, String method, String path) {
+        this.label = label;
+        this.method = method;
+        this.path = path;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public String method() {
+        return method;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public static Operation fromLabel(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equalsIgnoreCase(label.trim())) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + label);
+    }
+}
@@ -0,0 +1,40 @@
+package com.cubecrush.loadgen;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class VirtualUser {
+
+    private final String nickname;
+    private final String password;
+    private final AtomicBoolean relogging = new AtomicBoolean();
+    private volatile String accessToken;
+
+    public VirtualUser(String nickname, String password) {
+        this.nickname = nickname;
+        this.password = password;
+    }
+
+    public String nickname() {
+        return nickname;
+    }
+
+    public String password() {
+        return password;
+    }
+
+    public String accessToken() {
+        return accessToken;
+    }
+
+    public void accessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public boolean startRelogin() {
+        return relogging.compareAndSet(false, true);
+    }
+
+    public void finishRelogin() {
+        relogging.set(false);
+    }
+}
@@ -4,6 +4,7 @@ import com.cubecrush.user.exception.UserException;
 import com.cubecrush.user.model.User;
 import com.cubecrush.user.service.UserService;
 import com.cubecrush.user.web.dto.CreateUserRequest;
+import com.cubecrush.user.web.dto.UserBatchRequest;
 import com.cubecrush.user.web.dto.UserProfile;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.validation.Valid;
@@ -11,6 +12,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Hidden
 @RestController
 @RequestMapping("/api/v1/system/users")
@@ -32,6 +35,13 @@ public class UserManagementController {
         return UserProfile.from(user);
     }
 
+    @PostMapping("/batch")
+    public List<UserProfile> getUsersByIds(@Valid @RequestBody UserBatchRequest request) {
+        return userService.findAllById(request.ids()).stream()
+                .map(UserProfile::from)
+                .toList();
+    }
+
     @GetMapping("/by-nickname/{nickname}")
     public UserProfile getUserByNickname(@PathVariable String nickname) {
         var user = userService.findByNickname(nickname)
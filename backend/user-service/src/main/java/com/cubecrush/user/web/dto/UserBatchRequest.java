@@ -0,0 +1,10 @@
+package com.cubecrush.user.web.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record UserBatchRequest(
+        @NotEmpty @Size(max = 1000) List<Long> ids
+) {}
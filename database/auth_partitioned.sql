@@ -0,0 +1,165 @@
+-- Optional: range-partition user_sessions and revoked_tokens by expiry (one partition per day),
+-- so auth-service cleanup drops whole expired partitions instead of deleting rows.
+-- Apply after database_schema.sql with auth-service stopped:
+--   psql -d cube_crush_game -f database/auth_partitioned.sql
+-- auth-service detects the partitioned tables on its next cleanup run; no configuration change needed.
+-- Its cleanup job keeps partitions created at least one refresh-token lifetime ahead.
+--
+-- Partitioned tables can only enforce uniqueness together with the partition key, so jti and
+-- refresh_token_hash are unique per expiry instant rather than globally. Both are random
+-- (UUID, SHA-256), and auth-service checks jti before creating a session. The UserSession entity
+-- declares no unique columns, so Hibernate's ddl-auto=update does not try to add global
+-- unique constraints to the partitioned table.
+
+-- Partition bounds are UTC days. Rows that already landed in the default partition for a day
+-- (e.g. refresh tokens longer-lived than the look-ahead) are moved into the new partition, since
+-- PostgreSQL refuses to create a partition whose range the default partition still holds.
+CREATE OR REPLACE FUNCTION ensure_auth_partitions(from_date DATE, to_date DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    day_start DATE := from_date;
+    parent TEXT;
+    key_column TEXT;
+    partition_name TEXT;
+    lower_bound TIMESTAMP WITH TIME ZONE;
+    upper_bound TIMESTAMP WITH TIME ZONE;
+    created INTEGER := 0;
+BEGIN
+    WHILE day_start <= to_date LOOP
+        lower_bound := day_start::timestamp AT TIME ZONE 'UTC';
+        upper_bound := (day_start + 1)::timestamp AT TIME ZONE 'UTC';
+        FOREACH parent IN ARRAY ARRAY['user_sessions', 'revoked_tokens'] LOOP
+            partition_name := parent || '_' || to_char(day_start, 'YYYY_MM_DD');
+            IF NOT EXISTS (SELECT 1 FROM pg_class WHERE relname = partition_name) THEN
+                key_column := CASE parent WHEN 'user_sessions' THEN 'refresh_token_expires_at' ELSE 'expires_at' END;
+                EXECUTE format('LOCK TABLE %I IN EXCLUSIVE MODE', parent || '_default');
+                EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS)', partition_name, parent);
+                EXECUTE format(
+                    'WITH moved AS (DELETE FROM %I WHERE %I >= %L AND %I < %L RETURNING *) '
+                        || 'INSERT INTO %I SELECT * FROM moved',
+                    parent || '_default', key_column, lower_bound, key_column, upper_bound, partition_name
+                );
+                EXECUTE format(
+                    'ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                    parent, partition_name, lower_bound, upper_bound
+                );
+                created := created + 1;
+            END IF;
+        END LOOP;
+        day_start := day_start + 1;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION drop_expired_auth_partitions(cutoff TIMESTAMP WITH TIME ZONE)
+RETURNS INTEGER AS $$
+DECLARE
+    partition RECORD;
+    dropped INTEGER := 0;
+BEGIN
+    IF NOT pg_try_advisory_xact_lock(hashtext('drop_expired_auth_partitions')) THEN
+        RETURN 0;
+    END IF;
+    FOR partition IN
+        SELECT c.relname, p.relname AS parent
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        WHERE p.relname IN ('user_sessions', 'revoked_tokens')
+          AND c.relname ~ '_[0-9]{4}_[0-9]{2}_[0-9]{2}$'
+          AND (to_date(right(c.relname, 10), 'YYYY_MM_DD') + 1)::timestamp AT TIME ZONE 'UTC' <= cutoff
+    LOOP
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', partition.parent, partition.relname);
+        EXECUTE format('DROP TABLE %I', partition.relname);
+        dropped := dropped + 1;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'user_sessions' AND relkind = 'r') THEN
+        ALTER TABLE user_sessions RENAME TO user_sessions_unpartitioned;
+        ALTER SEQUENCE IF EXISTS user_sessions_id_seq OWNED BY NONE;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'revoked_tokens' AND relkind = 'r') THEN
+        ALTER TABLE revoked_tokens RENAME TO revoked_tokens_unpartitioned;
+    END IF;
+END;
+$$;
+
+CREATE SEQUENCE IF NOT EXISTS user_sessions_id_seq;
+
+CREATE TABLE IF NOT EXISTS user_sessions (
+    id BIGINT NOT NULL DEFAULT nextval('user_sessions_id_seq'),
+    user_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
+    user_nickname VARCHAR(100) NOT NULL,
+    jti VARCHAR(255) NOT NULL,
+    refresh_token_hash VARCHAR(255) NOT NULL,
+    access_token_hash VARCHAR(255),
+    access_token_expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    refresh_token_expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    is_revoked BOOLEAN DEFAULT FALSE,
+    PRIMARY KEY (id, refresh_token_expires_at),
+    UNIQUE (jti, refresh_token_expires_at),
+    UNIQUE (refresh_token_hash, refresh_token_expires_at)
+) PARTITION BY RANGE (refresh_token_expires_at);
+
+CREATE TABLE IF NOT EXISTS user_sessions_default PARTITION OF user_sessions DEFAULT;
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (jti, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens_default PARTITION OF revoked_tokens DEFAULT;
+
+-- Refresh tokens live for 7 days by default; cover them plus a margin.
+SELECT ensure_auth_partitions((now() AT TIME ZONE 'UTC')::date, (now() AT TIME ZONE 'UTC')::date + 14);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'user_sessions_unpartitioned') THEN
+        INSERT INTO user_sessions
+        SELECT id, user_id, user_nickname, jti, refresh_token_hash, access_token_hash,
+               access_token_expires_at, refresh_token_expires_at, created_at, is_revoked
+        FROM user_sessions_unpartitioned
+        WHERE refresh_token_expires_at > CURRENT_TIMESTAMP;
+        DROP TABLE user_sessions_unpartitioned;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'revoked_tokens_unpartitioned') THEN
+        INSERT INTO revoked_tokens
+        SELECT jti, expires_at, revoked_at
+        FROM revoked_tokens_unpartitioned
+        WHERE expires_at > CURRENT_TIMESTAMP;
+        DROP TABLE revoked_tokens_unpartitioned;
+    END IF;
+END;
+$$;
+
+ALTER SEQUENCE user_sessions_id_seq OWNED BY user_sessions.id;
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires ON revoked_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_user_sessions_jti ON user_sessions(jti);
+CREATE INDEX IF NOT EXISTS idx_user_sessions_user_id ON user_sessions(user_id);
+CREATE INDEX IF NOT EXISTS idx_user_sessions_access_expires ON user_sessions(access_token_expires_at);
+CREATE INDEX IF NOT EXISTS idx_user_sessions_refresh_expires ON user_sessions(refresh_token_expires_at);
+CREATE INDEX IF NOT EXISTS idx_user_sessions_refresh_token ON user_sessions(refresh_token_hash);
+CREATE INDEX IF NOT EXISTS idx_user_sessions_revoked ON user_sessions(is_revoked) WHERE is_revoked = false;
+
+DROP TRIGGER IF EXISTS notify_token_revoked ON revoked_tokens;
+CREATE TRIGGER notify_token_revoked
+    AFTER INSERT ON revoked_tokens
+    FOR EACH ROW EXECUTE FUNCTION notify_token_revoked();
+
+DROP TRIGGER IF EXISTS notify_session_revoked ON user_sessions;
+CREATE TRIGGER notify_session_revoked
+    AFTER UPDATE OF is_revoked ON user_sessions
+    FOR EACH ROW
+    WHEN (NEW.is_revoked AND OLD.is_revoked IS DISTINCT FROM TRUE)
+    EXECUTE FUNCTION notify_session_revoked();
@@ -5,13 +5,193 @@ CREATE TABLE IF NOT EXISTS users (
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
 );
 
+CREATE SEQUENCE IF NOT EXISTS scores_id_seq;
+ALTER SEQUENCE scores_id_seq INCREMENT BY 50;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'scores' AND relkind = 'r') THEN
+        ALTER TABLE scores RENAME TO scores_unpartitioned;
+        ALTER SEQUENCE scores_id_seq OWNED BY NONE;
+    END IF;
+END;
+$$;
+
 CREATE TABLE IF NOT EXISTS scores (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT NOT NULL DEFAULT nextval('scores_id_seq'),
     user_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
     score INTEGER NOT NULL CHECK (score >= 0),
-    achieved_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+    achieved_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, achieved_at)
+) PARTITION BY RANGE (achieved_at);
+
+CREATE TABLE IF NOT EXISTS scores_default PARTITION OF scores DEFAULT;
+
+-- Back-dated scores for a month without a partition land in scores_default. PostgreSQL refuses to
+-- create a partition whose range the default partition still holds, so those rows are moved into
+-- the new partition before it is attached. Partitions are UTC months, whatever the session zone.
+CREATE OR REPLACE FUNCTION ensure_scores_partitions(from_date DATE, to_date DATE)
+RETURNS INTEGER
+SET timezone = 'UTC'
+AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_date)::date;
+    month_end DATE;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= to_date LOOP
+        month_end := (month_start + INTERVAL '1 month')::date;
+        partition_name := 'scores_' || to_char(month_start, 'YYYY_MM');
+        IF NOT EXISTS (SELECT 1 FROM pg_class WHERE relname = partition_name) THEN
+            LOCK TABLE scores_default IN EXCLUSIVE MODE;
+            EXECUTE format('CREATE TABLE %I (LIKE scores INCLUDING DEFAULTS)', partition_name);
+            EXECUTE format(
+                'WITH moved AS (DELETE FROM scores_default WHERE achieved_at >= %L AND achieved_at < %L RETURNING *) '
+                    || 'INSERT INTO %I SELECT * FROM moved',
+                month_start, month_end, partition_name
+            );
+            EXECUTE format(
+                'ALTER TABLE scores ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                partition_name, month_start, month_end
+            );
+            created := created + 1;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'scores_unpartitioned') THEN
+        PERFORM ensure_scores_partitions(
+            COALESCE((SELECT MIN(achieved_at)::date FROM scores_unpartitioned), CURRENT_DATE),
+            CURRENT_DATE
+        );
+        INSERT INTO scores (id, user_id, score, achieved_at)
+        SELECT id, user_id, score, COALESCE(achieved_at, CURRENT_TIMESTAMP)
+        FROM scores_unpartitioned;
+        DROP TABLE scores_unpartitioned CASCADE;
+    END IF;
+END;
+$$;
+
+SELECT ensure_scores_partitions(CURRENT_DATE, (CURRENT_DATE + INTERVAL '3 months')::date);
+
+CREATE TABLE IF NOT EXISTS score_daily_rollups (
+    user_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    games_played INTEGER NOT NULL,
+    score_sum BIGINT NOT NULL,
+    best_score INTEGER NOT NULL,
+    best_score_achieved_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (user_id, day)
+);
+
+CREATE TABLE IF NOT EXISTS scores_archive (
+    user_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    scores JSONB NOT NULL,
+    PRIMARY KEY (user_id, month)
 );
 
+DO $$
+BEGIN
+    ALTER TABLE scores_archive ALTER COLUMN scores SET COMPRESSION lz4;
+EXCEPTION WHEN OTHERS THEN
+    RAISE NOTICE 'lz4 is not available, scores_archive keeps the default compression';
+END;
+$$;
+
+-- Rolls the rows returned by rows_query (id, user_id, score, achieved_at) into per-user daily
+-- rollups and appends them to the per-user monthly archive, by UTC day and month. Returns the
+-- number of rows.
+CREATE OR REPLACE FUNCTION archive_score_rows(rows_query TEXT, cutoff TIMESTAMP WITH TIME ZONE, batch_size INTEGER)
+RETURNS BIGINT
+SET timezone = 'UTC'
+AS $$
+DECLARE
+    archived BIGINT;
+BEGIN
+    EXECUTE format($sql$
+        WITH moved AS (%s),
+        rolled AS (
+            INSERT INTO score_daily_rollups AS r
+                (user_id, day, games_played, score_sum, best_score, best_score_achieved_at)
+            SELECT user_id, achieved_at::date, COUNT(*), SUM(score), MAX(score),
+                   (array_agg(achieved_at ORDER BY score DESC, achieved_at))[1]
+            FROM moved
+            GROUP BY user_id, achieved_at::date
+            ON CONFLICT (user_id, day) DO UPDATE SET
+                games_played = r.games_played + EXCLUDED.games_played,
+                score_sum = r.score_sum + EXCLUDED.score_sum,
+                best_score = GREATEST(r.best_score, EXCLUDED.best_score),
+                best_score_achieved_at = CASE WHEN EXCLUDED.best_score > r.best_score
+                    THEN EXCLUDED.best_score_achieved_at ELSE r.best_score_achieved_at END
+        ),
+        archived AS (
+            INSERT INTO scores_archive AS a (user_id, month, scores)
+            SELECT user_id, date_trunc('month', achieved_at)::date,
+                   jsonb_agg(jsonb_build_array(id, score, achieved_at) ORDER BY achieved_at, id)
+            FROM moved
+            GROUP BY user_id, date_trunc('month', achieved_at)::date
+            ON CONFLICT (user_id, month) DO UPDATE SET scores = a.scores || EXCLUDED.scores
+        )
+        SELECT COUNT(*) FROM moved
+    $sql$, rows_query) INTO archived USING cutoff, batch_size;
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaching comes first, in its own short transaction, so no row can reach the partition after
+-- it has been read; archive_scores_partition then archives and drops the detached table.
+CREATE OR REPLACE FUNCTION detach_scores_partition(partition_name TEXT)
+RETURNS BOOLEAN AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('archive_scores'));
+    IF NOT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(partition_name)) THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('ALTER TABLE scores DETACH PARTITION %I', partition_name);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION archive_scores_partition(partition_name TEXT)
+RETURNS BIGINT AS $$
+DECLARE
+    archived BIGINT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('archive_scores'));
+    IF to_regclass(partition_name) IS NULL THEN
+        RETURN 0;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(partition_name)) THEN
+        RAISE EXCEPTION 'Partition % is still attached to scores', partition_name;
+    END IF;
+    archived := archive_score_rows(
+        format('SELECT id, user_id, score, achieved_at FROM %I', partition_name), NULL, NULL);
+    EXECUTE format('DROP TABLE %I', partition_name);
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION archive_default_scores(cutoff TIMESTAMP WITH TIME ZONE, batch_size INTEGER)
+RETURNS BIGINT AS $$
+BEGIN
+    IF NOT pg_try_advisory_xact_lock(hashtext('archive_scores')) THEN
+        RETURN 0;
+    END IF;
+    RETURN archive_score_rows(
+        'DELETE FROM scores_default WHERE ctid = ANY(ARRAY('
+            || 'SELECT ctid FROM scores_default WHERE achieved_at < $1 LIMIT $2'
+        || ')) RETURNING id, user_id, score, achieved_at',
+        cutoff, batch_size);
+END;
+$$ LANGUAGE plpgsql;
+
 CREATE TABLE IF NOT EXISTS user_sessions (
     id BIGSERIAL PRIMARY KEY,
     user_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
@@ -31,6 +211,11 @@ CREATE TABLE IF NOT EXISTS revoked_tokens (
     revoked_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
 );
 
+CREATE TABLE IF NOT EXISTS user_token_epochs (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    revoked_before TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
 CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires ON revoked_tokens(expires_at);
 CREATE INDEX IF NOT EXISTS idx_user_sessions_jti ON user_sessions(jti);
 CREATE INDEX IF NOT EXISTS idx_user_sessions_user_id ON user_sessions(user_id);
@@ -48,62 +233,82 @@ CREATE INDEX IF NOT EXISTS idx_scores_achieved_at ON scores(achieved_at);
 CREATE INDEX IF NOT EXISTS idx_scores_user_score ON scores(user_id, score DESC);
 CREATE INDEX IF NOT EXISTS idx_scores_user_achieved ON scores(user_id, achieved_at DESC);
 
-CREATE MATERIALIZED VIEW IF NOT EXISTS top_players AS
-SELECT 
-    u.id,
-    u.nickname,
-    MAX(s.score) as score,
-    MAX(s.achieved_at) as achieved_at
-FROM scores s
-JOIN users u ON u.id = s.user_id
-GROUP BY u.id, u.nickname
-ORDER BY score DESC;
-
-CREATE MATERIALIZED VIEW IF NOT EXISTS user_stats AS
-SELECT 
-    u.id,
-    u.nickname,
-    (
-        SELECT achieved_at 
-        FROM scores s2 
-        WHERE s2.user_id = u.id 
-        ORDER BY s2.score DESC, s2.achieved_at DESC 
-        LIMIT 1
-    ) as best_score_achieved_at,
-    COUNT(s.id) as games_played,
-    MAX(s.score) as best_score,
-    ROUND(AVG(s.score)) as average_score
-FROM users u
-LEFT JOIN scores s ON u.id = s.user_id
-GROUP BY u.id, u.nickname;
+CREATE TABLE IF NOT EXISTS user_score_summary (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    games_played BIGINT NOT NULL DEFAULT 0,
+    score_sum BIGINT NOT NULL DEFAULT 0,
+    best_score INTEGER NOT NULL,
+    best_score_achieved_at TIMESTAMP WITH TIME ZONE,
+    last_played_at TIMESTAMP WITH TIME ZONE
+);
 
-CREATE UNIQUE INDEX IF NOT EXISTS idx_top_players_user_id ON top_players(id);
-CREATE UNIQUE INDEX IF NOT EXISTS idx_user_stats_user_id ON user_stats(id);
-CREATE INDEX IF NOT EXISTS idx_top_players_score ON top_players(score DESC);
-CREATE INDEX IF NOT EXISTS idx_user_stats_best_score ON user_stats(best_score DESC NULLS LAST);
+CREATE INDEX IF NOT EXISTS idx_user_score_summary_best ON user_score_summary(best_score DESC, user_id);
 
-CREATE OR REPLACE FUNCTION refresh_game_views()
-RETURNS TRIGGER AS $$
-DECLARE
-    current_best INTEGER;
+CREATE TABLE IF NOT EXISTS score_idempotency_keys (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    idempotency_key VARCHAR(128) NOT NULL,
+    score_id BIGINT,
+    score INTEGER,
+    achieved_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_score_idempotency_keys_created ON score_idempotency_keys(created_at);
+
+DROP TRIGGER IF EXISTS refresh_views_after_score ON scores;
+DROP FUNCTION IF EXISTS refresh_game_views();
+
+DO $$
 BEGIN
-    REFRESH MATERIALIZED VIEW user_stats;
-    
-    SELECT MAX(score) INTO current_best FROM scores WHERE user_id = NEW.user_id;
-    
-    IF NEW.score >= COALESCE(current_best, 0) THEN
-        REFRESH MATERIALIZED VIEW top_players;
+    IF EXISTS (SELECT 1 FROM pg_matviews WHERE matviewname = 'top_players') THEN
+        DROP MATERIALIZED VIEW top_players;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_matviews WHERE matviewname = 'user_stats') THEN
+        DROP MATERIALIZED VIEW user_stats;
     END IF;
-    
-    RETURN NULL;
 END;
-$$ LANGUAGE plpgsql;
+$$;
 
-DROP TRIGGER IF EXISTS refresh_views_after_score ON scores;
-CREATE TRIGGER refresh_views_after_score
-    AFTER INSERT OR UPDATE OR DELETE ON scores
-    FOR EACH ROW
-    EXECUTE FUNCTION refresh_game_views();
+INSERT INTO user_score_summary (user_id, games_played, score_sum, best_score, best_score_achieved_at, last_played_at)
+SELECT
+    agg.user_id,
+    agg.games_played,
+    agg.score_sum,
+    best.score,
+    best.achieved_at,
+    agg.last_played_at
+FROM (
+    SELECT user_id, COUNT(*) AS games_played, SUM(score) AS score_sum, MAX(achieved_at) AS last_played_at
+    FROM scores
+    GROUP BY user_id
+) agg
+JOIN (
+    SELECT DISTINCT ON (user_id) user_id, score, achieved_at
+    FROM scores
+    ORDER BY user_id, score DESC, achieved_at DESC
+) best ON best.user_id = agg.user_id
+ON CONFLICT (user_id) DO NOTHING;
+
+CREATE OR REPLACE VIEW top_players AS
+SELECT
+    u.id,
+    u.nickname,
+    s.best_score as score,
+    s.best_score_achieved_at as achieved_at
+FROM user_score_summary s
+JOIN users u ON u.id = s.user_id;
+
+CREATE OR REPLACE VIEW user_stats AS
+SELECT
+    u.id,
+    u.nickname,
+    s.best_score_achieved_at,
+    COALESCE(s.games_played, 0) as games_played,
+    s.best_score,
+    ROUND(s.score_sum::numeric / NULLIF(s.games_played, 0)) as average_score
+FROM users u
+LEFT JOIN user_score_summary s ON s.user_id = u.id;
 
 CREATE OR REPLACE FUNCTION get_user_score_history(user_id_param INTEGER)
 RETURNS TABLE(score INTEGER, achieved_at TIMESTAMP WITH TIME ZONE) AS $$
@@ -128,3 +333,99 @@ BEGIN
     RETURN current_best IS NULL OR new_score > current_best;
 END;
 $$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION notify_score_inserted()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- Bulk imports set this for their transaction and announce a single reload instead.
+    IF current_setting('game.skip_notify', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    PERFORM pg_notify('game_changes', json_build_object(
+        'type', 'score',
+        'scoreId', NEW.id,
+        'userId', NEW.user_id,
+        'score', NEW.score,
+        'achievedAt', NEW.achieved_at AT TIME ZONE 'UTC',
+        'origin', current_setting('application_name')
+    )::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS notify_score_inserted ON scores;
+CREATE TRIGGER notify_score_inserted
+    AFTER INSERT ON scores
+    FOR EACH ROW EXECUTE FUNCTION notify_score_inserted();
+
+CREATE OR REPLACE FUNCTION notify_nickname_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('game_changes', json_build_object(
+        'type', 'nickname',
+        'userId', NEW.id,
+        'nickname', NEW.nickname,
+        'origin', current_setting('application_name')
+    )::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS notify_nickname_changed ON users;
+CREATE TRIGGER notify_nickname_changed
+    AFTER UPDATE OF nickname ON users
+    FOR EACH ROW
+    WHEN (OLD.nickname IS DISTINCT FROM NEW.nickname)
+    EXECUTE FUNCTION notify_nickname_changed();
+
+CREATE OR REPLACE FUNCTION notify_token_revoked()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('auth_revocations', json_build_object(
+        'type', 'token',
+        'jti', NEW.jti,
+        'expiresAt', (extract(epoch FROM NEW.expires_at) * 1000)::bigint
+    )::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS notify_token_revoked ON revoked_tokens;
+CREATE TRIGGER notify_token_revoked
+    AFTER INSERT ON revoked_tokens
+    FOR EACH ROW EXECUTE FUNCTION notify_token_revoked();
+
+CREATE OR REPLACE FUNCTION notify_session_revoked()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('auth_revocations', json_build_object(
+        'type', 'session',
+        'jti', NEW.jti
+    )::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS notify_session_revoked ON user_sessions;
+CREATE TRIGGER notify_session_revoked
+    AFTER UPDATE OF is_revoked ON user_sessions
+    FOR EACH ROW
+    WHEN (NEW.is_revoked AND OLD.is_revoked IS DISTINCT FROM TRUE)
+    EXECUTE FUNCTION notify_session_revoked();
+
+CREATE OR REPLACE FUNCTION notify_token_epoch()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('auth_revocations', json_build_object(
+        'type', 'epoch',
+        'userId', NEW.user_id,
+        'revokedBefore', (extract(epoch FROM NEW.revoked_before) * 1000)::bigint
+    )::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS notify_token_epoch ON user_token_epochs;
+CREATE TRIGGER notify_token_epoch
+    AFTER INSERT OR UPDATE OF revoked_before ON user_token_epochs
+    FOR EACH ROW EXECUTE FUNCTION notify_token_epoch();